@@ -0,0 +1,141 @@
+package com.concepts.domain.money;
+
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.concepts.domain.support.Assert;
+
+
+/**
+ * Assigns each {@link Currency} a dense ordinal, from 0 in the order currencies are first used, and caches what
+ * {@link Money} needs to know about it: the default fraction digits, the scale factor from major to minor units and
+ * shared {@link Money} instances for whole amounts from {@value #FIRST_CACHED_AMOUNT} to {@value #LAST_CACHED_AMOUNT}.
+ * <p>
+ * A {@link Money} keeps the ordinal of its currency, so comparing currencies is an {@code int} comparison and data per
+ * currency can be kept in arrays indexed by ordinal instead of maps keyed by currency. Ordinals are only valid within
+ * one JVM and must not be persisted.
+ */
+public final class CurrencyRegistry {
+
+    public static final int FIRST_CACHED_AMOUNT = -128;
+    public static final int LAST_CACHED_AMOUNT = 127;
+
+    private static final long[] POWERS_OF_TEN = { 1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L,
+            100000000L, 1000000000L, 10000000000L, 100000000000L, 1000000000000L, 10000000000000L, 100000000000000L,
+            1000000000000000L, 10000000000000000L, 100000000000000000L, 1000000000000000000L };
+
+    private static final ConcurrentMap<Currency, Integer> ORDINALS = new ConcurrentHashMap<Currency, Integer>();
+
+    private static volatile Entry[] entries = new Entry[0];
+
+    private CurrencyRegistry() {
+    }
+
+    /**
+     * Returns the ordinal of {@code currency}, assigning the next free ordinal on first use.
+     */
+    public static int ordinal(Currency currency) {
+        Assert.notNull(currency, "Currency cannot be null");
+
+        Integer ordinal = ORDINALS.get(currency);
+
+        return (ordinal != null) ? ordinal : register(currency);
+    }
+
+    public static Currency currency(int ordinal) {
+        return entry(ordinal).currency;
+    }
+
+    /**
+     * Returns the number of currencies with an ordinal, which is one more than the largest ordinal.
+     */
+    public static int size() {
+        return entries.length;
+    }
+
+    /**
+     * Returns the default fraction digits of the currency with {@code ordinal}, -1 for pseudo currencies.
+     */
+    public static int fractionDigits(int ordinal) {
+        return entry(ordinal).fractionDigits;
+    }
+
+    /**
+     * Returns the number of minor units in a major unit of the currency with {@code ordinal}, e.g. 100 cents in a US
+     * dollar, or 0 if the currency has no minor units.
+     */
+    public static long scaleFactor(int ordinal) {
+        return entry(ordinal).scaleFactor;
+    }
+
+    /**
+     * Returns the shared {@link Money} of {@code amount} major units of the currency with {@code ordinal}, or
+     * {@code null} if the amount is not cached.
+     */
+    static Money cachedMoney(int ordinal, long amount) {
+        if (amount < FIRST_CACHED_AMOUNT || amount > LAST_CACHED_AMOUNT) { return null; }
+
+        Entry entry = entry(ordinal);
+        if (entry.scaleFactor == 0) { return null; }
+
+        Money[] monies = entry.monies;
+        if (monies == null) {
+            monies = entry.createMonies(ordinal);
+        }
+
+        return monies[(int) amount - FIRST_CACHED_AMOUNT];
+    }
+
+    private static Entry entry(int ordinal) {
+        Entry[] current = entries;
+        if (ordinal < 0 || ordinal >= current.length) {
+            throw new IllegalArgumentException("No currency with ordinal " + ordinal);
+        }
+
+        return current[ordinal];
+    }
+
+    private static synchronized int register(Currency currency) {
+        Integer ordinal = ORDINALS.get(currency);
+        if (ordinal != null) { return ordinal; }
+
+        int newOrdinal = entries.length;
+        Entry[] grown = Arrays.copyOf(entries, newOrdinal + 1);
+        grown[newOrdinal] = new Entry(currency);
+        entries = grown;
+        ORDINALS.put(currency, newOrdinal);
+
+        return newOrdinal;
+    }
+
+    private static final class Entry {
+
+        private final Currency currency;
+        private final int fractionDigits;
+        private final long scaleFactor;
+        private volatile Money[] monies;
+
+        Entry(Currency currency) {
+            this.currency = currency;
+            this.fractionDigits = currency.getDefaultFractionDigits();
+            this.scaleFactor = (this.fractionDigits >= 0 && this.fractionDigits < POWERS_OF_TEN.length)
+                    ? POWERS_OF_TEN[this.fractionDigits] : 0;
+        }
+
+        synchronized Money[] createMonies(int ordinal) {
+            if (this.monies == null) {
+                Money[] newMonies = new Money[LAST_CACHED_AMOUNT - FIRST_CACHED_AMOUNT + 1];
+                for (int i = 0; i < newMonies.length; i++) {
+                    newMonies[i] = new Money((FIRST_CACHED_AMOUNT + i) * this.scaleFactor, ordinal);
+                }
+                this.monies = newMonies;
+            }
+
+            return this.monies;
+        }
+
+    }
+
+}
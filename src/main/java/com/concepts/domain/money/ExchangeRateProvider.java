@@ -0,0 +1,21 @@
+package com.concepts.domain.money;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+
+/**
+ * Source of exchange rates, such as a market data feed or a table of end of day fixings. Rates are cached by
+ * {@link ExchangeRates}, so a provider is asked for each currency pair only once until the cache is cleared.
+ *
+ * @see ExchangeRates
+ */
+public interface ExchangeRateProvider {
+
+    /**
+     * Returns the amount of {@code to} worth one unit of {@code from}, e.g. 1.35 from EUR to USD if a euro is worth
+     * 1.35 US dollars.
+     */
+    BigDecimal getRate(Currency from, Currency to);
+
+}
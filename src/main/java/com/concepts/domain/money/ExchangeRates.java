@@ -0,0 +1,103 @@
+package com.concepts.domain.money;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Currency;
+
+import com.concepts.domain.support.Assert;
+
+
+/**
+ * Exchange rates of an {@link ExchangeRateProvider}, cached in a matrix indexed by the ordinals of the currencies.
+ * Each currency pair is fetched from the provider once; afterwards a rate is two array reads, without hashing. The
+ * rate of a currency to itself is one and never fetched.
+ * <p>
+ * The cache is thread safe. {@link #clear()} drops the cached rates, e.g. after new fixings.
+ *
+ * @see MoneyBag#convertTo(Currency, ExchangeRates)
+ */
+public final class ExchangeRates {
+
+    private final ExchangeRateProvider provider;
+    private volatile BigDecimal[][] matrix = new BigDecimal[0][];
+
+    public static ExchangeRates cachedFrom(ExchangeRateProvider provider) {
+        Assert.notNull(provider, "Exchange rate provider cannot be null");
+
+        return new ExchangeRates(provider);
+    }
+
+    private ExchangeRates(ExchangeRateProvider provider) {
+        this.provider = provider;
+    }
+
+    /**
+     * Returns the amount of {@code to} worth one unit of {@code from}.
+     */
+    public BigDecimal getRate(Currency from, Currency to) {
+        Assert.notNull(from, "Currency cannot be null");
+        Assert.notNull(to, "Currency cannot be null");
+
+        return rate(CurrencyRegistry.ordinal(from), CurrencyRegistry.ordinal(to));
+    }
+
+    /**
+     * Converts {@code money} into {@code target}, rounding half even to the minor units of the target currency.
+     */
+    public Money convert(Money money, Currency target) {
+        Assert.notNull(money, "Money cannot be null");
+
+        BigDecimal rate = getRate(money.getCurrency(), target);
+
+        return Money.valueOf(money.getAmount().multiply(rate), target);
+    }
+
+    /**
+     * Drops all cached rates, so that they are fetched from the provider again.
+     */
+    public synchronized void clear() {
+        this.matrix = new BigDecimal[0][];
+    }
+
+    /**
+     * Returns the rate between the currencies with the ordinals {@code from} and {@code to}.
+     */
+    BigDecimal rate(int from, int to) {
+        if (from == to) { return BigDecimal.ONE; }
+
+        BigDecimal[][] rates = this.matrix;
+        if (from < rates.length && rates[from] != null && to < rates[from].length) {
+            BigDecimal rate = rates[from][to];
+            if (rate != null) { return rate; }
+        }
+
+        return fetch(from, to);
+    }
+
+    private synchronized BigDecimal fetch(int from, int to) {
+        int size = CurrencyRegistry.size();
+        BigDecimal[][] rates = this.matrix;
+        if (rates.length < size) {
+            rates = Arrays.copyOf(rates, size);
+        }
+        if (rates[from] == null || rates[from].length < size) {
+            rates[from] = (rates[from] == null) ? new BigDecimal[size] : Arrays.copyOf(rates[from], size);
+        }
+
+        BigDecimal rate = rates[from][to];
+        if (rate == null) {
+            Currency fromCurrency = CurrencyRegistry.currency(from);
+            Currency toCurrency = CurrencyRegistry.currency(to);
+            rate = this.provider.getRate(fromCurrency, toCurrency);
+            if (rate == null || rate.signum() <= 0) {
+                throw new IllegalArgumentException("No valid exchange rate from " + fromCurrency + " to "
+                        + toCurrency + ": " + rate);
+            }
+            rates[from][to] = rate;
+        }
+        this.matrix = rates;
+
+        return rate;
+    }
+
+}
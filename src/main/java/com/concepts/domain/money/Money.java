@@ -1,6 +1,11 @@
 package com.concepts.domain.money;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.util.Currency;
 
@@ -13,6 +18,14 @@ import com.concepts.domain.Quantifiable;
  * the amount and a unit represented by {@link Currency}. This Money object refers to a specific amount of a particular
  * currency.
  * <p>
+ * Amounts that fit are kept as a {@code long} count of minor units, e.g. cents, scaled by the default fraction digits
+ * of the currency. Addition, subtraction, negation, comparison and multiplication by integers then run in primitive
+ * arithmetic, and fall back to {@link BigDecimal} arithmetic when the result overflows. {@link #getAmount()} returns
+ * the same values either way, creating the {@link BigDecimal} on first use.
+ * <p>
+ * Each money keeps the ordinal its currency has in the {@link CurrencyRegistry}, so currencies are compared as
+ * {@code int}s, and {@link #valueOf(long, Currency)} returns shared instances for small whole amounts.
+ * <p>
  * Reference: Analysis Patterns: Reusable Object Models - Martin Fowler.
  * 
  * @author ishitarakshit
@@ -23,16 +36,24 @@ public class Money implements Quantifiable<Money> {
 
     private static final long serialVersionUID = 8305351128868301581L;
 
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("amount", BigDecimal.class), new ObjectStreamField("currency", Currency.class) };
+
     private static final Currency USD = Currency.getInstance("USD");
     private static final RoundingMode DEFAULT_ROUNDING = RoundingMode.HALF_EVEN;
 
-    public static final Money ZERO_DOLLARS = dollars(BigDecimal.ZERO);
+    private static final long NOT_IN_MINOR_UNITS = Long.MIN_VALUE;
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+    public static final Money ZERO_DOLLARS = dollars(0L);
 
+    private long minorUnits;
     private BigDecimal amount;
     private Currency currency;
+    private transient int ordinal;
 
     public static Money dollars(long amount) {
-        return valueOf(BigDecimal.valueOf(amount), USD);
+        return valueOf(amount, USD);
     }
 
     public static Money dollars(double amount) {
@@ -55,7 +76,24 @@ public class Money implements Quantifiable<Money> {
         return valueOf(amount, USD, rounding);
     }
 
+    /**
+     * Returns the money of {@code amount} major units of {@code currency}. Amounts from
+     * {@value CurrencyRegistry#FIRST_CACHED_AMOUNT} to {@value CurrencyRegistry#LAST_CACHED_AMOUNT} return shared
+     * instances.
+     */
     public static Money valueOf(long amount, Currency currency) {
+        if (currency != null) {
+            int ordinal = CurrencyRegistry.ordinal(currency);
+            Money cached = CurrencyRegistry.cachedMoney(ordinal, amount);
+            if (cached != null) { return cached; }
+
+            long factor = CurrencyRegistry.scaleFactor(ordinal);
+            if (factor != 0) {
+                long limit = Long.MAX_VALUE / factor;
+                if (amount > -limit && amount < limit) { return new Money(amount * factor, ordinal); }
+            }
+        }
+
         return valueOf(BigDecimal.valueOf(amount), currency);
     }
 
@@ -79,6 +117,39 @@ public class Money implements Quantifiable<Money> {
         return new Money(amount, currency, rounding);
     }
 
+    /**
+     * Returns the money of {@code minorUnits} minor units of {@code currency}, e.g. cents for US dollars.
+     *
+     * @throws IllegalArgumentException
+     *             If the currency has no minor units, like pseudo currencies such as gold.
+     */
+    public static Money ofMinorUnits(long minorUnits, Currency currency) {
+        if (currency == null) { throw new IllegalArgumentException("Currency cannot be null"); }
+
+        return ofMinorUnits(minorUnits, CurrencyRegistry.ordinal(currency));
+    }
+
+    /**
+     * Returns the money of {@code minorUnits} minor units of the currency with {@code ordinal}.
+     */
+    static Money ofMinorUnits(long minorUnits, int ordinal) {
+        long factor = CurrencyRegistry.scaleFactor(ordinal);
+        if (factor == 0) {
+            throw new IllegalArgumentException(CurrencyRegistry.currency(ordinal) + " has no minor units");
+        }
+
+        if (minorUnits == NOT_IN_MINOR_UNITS) {
+            return valueOf(BigDecimal.valueOf(minorUnits, CurrencyRegistry.fractionDigits(ordinal)),
+                    CurrencyRegistry.currency(ordinal));
+        }
+        if (minorUnits % factor == 0) {
+            Money cached = CurrencyRegistry.cachedMoney(ordinal, minorUnits / factor);
+            if (cached != null) { return cached; }
+        }
+
+        return new Money(minorUnits, ordinal);
+    }
+
     Money(BigDecimal amount, Currency currency) {
         this(amount, currency, DEFAULT_ROUNDING);
     }
@@ -89,11 +160,44 @@ public class Money implements Quantifiable<Money> {
 
         validateState();
 
-        this.amount = amount.setScale(currency.getDefaultFractionDigits(), rounding);
+        this.ordinal = CurrencyRegistry.ordinal(currency);
+        this.amount = amount.setScale(CurrencyRegistry.fractionDigits(this.ordinal), rounding);
+        this.minorUnits = minorUnitsOf(this.amount, this.ordinal);
+    }
+
+    /**
+     * Creates money of {@code minorUnits} minor units of the currency with {@code ordinal}. The minor units must not
+     * be {@link #NOT_IN_MINOR_UNITS}.
+     */
+    Money(long minorUnits, int ordinal) {
+        this.minorUnits = minorUnits;
+        this.currency = CurrencyRegistry.currency(ordinal);
+        this.ordinal = ordinal;
     }
 
     public BigDecimal getAmount() {
-        return this.amount;
+        BigDecimal result = this.amount;
+        if (result == null) {
+            result = BigDecimal.valueOf(this.minorUnits, CurrencyRegistry.fractionDigits(this.ordinal));
+            this.amount = result;
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the amount as a count of minor units of the currency, e.g. cents for US dollars.
+     *
+     * @throws ArithmeticException
+     *             If the amount does not fit into a {@code long} or the currency has no minor units.
+     */
+    public long getAmountInMinorUnits() {
+        if (isInMinorUnits()) { return this.minorUnits; }
+        if (CurrencyRegistry.scaleFactor(this.ordinal) == 0) {
+            throw new ArithmeticException(this.currency + " has no minor units");
+        }
+
+        return getAmount().unscaledValue().longValueExact();
     }
 
     public Currency getCurrency() {
@@ -101,23 +205,57 @@ public class Money implements Quantifiable<Money> {
     }
 
     public boolean hasSameCurrency(Money other) {
-        return getCurrency().equals(other.getCurrency());
+        return this.ordinal == other.ordinal;
     }
 
     public Money negate() {
+        if (isInMinorUnits()) { return new Money(-this.minorUnits, this.ordinal); }
+
         return valueOf(getAmount().negate(), getCurrency());
     }
 
     public Money plus(Money other) {
         assertHasSameCurrencyAs(other);
+
+        if (isInMinorUnits() && other.isInMinorUnits()) {
+            long sum = this.minorUnits + other.minorUnits;
+            if (((this.minorUnits ^ sum) & (other.minorUnits ^ sum)) >= 0 && sum != NOT_IN_MINOR_UNITS) {
+                return new Money(sum, this.ordinal);
+            }
+        }
+
         return valueOf(getAmount().add(other.getAmount()), getCurrency());
     }
 
     public Money minus(Money other) {
-        return plus(other.negate());
+        assertHasSameCurrencyAs(other);
+
+        if (isInMinorUnits() && other.isInMinorUnits()) {
+            long difference = this.minorUnits - other.minorUnits;
+            if (((this.minorUnits ^ other.minorUnits) & (this.minorUnits ^ difference)) >= 0
+                    && difference != NOT_IN_MINOR_UNITS) {
+                return new Money(difference, this.ordinal);
+            }
+        }
+
+        return valueOf(getAmount().subtract(other.getAmount()), getCurrency());
     }
 
+    /**
+     * Multiplies the amount by {@code multiplicand}, rounding half even to the minor units of the currency. Integer
+     * multiplicands that a {@code double} represents exactly are multiplied in minor units.
+     */
     public Money times(Number multiplicand) {
+        if (isInMinorUnits() && isExactInteger(multiplicand)) {
+            try {
+                long product = Math.multiplyExact(this.minorUnits, multiplicand.longValue());
+                if (product != NOT_IN_MINOR_UNITS) { return new Money(product, this.ordinal); }
+            }
+            catch (ArithmeticException e) {
+                // Falls back to BigDecimal arithmetic below.
+            }
+        }
+
         return valueOf(getAmount().multiply(BigDecimal.valueOf(multiplicand.doubleValue())), getCurrency());
     }
 
@@ -135,6 +273,9 @@ public class Money implements Quantifiable<Money> {
 
     public int compareTo(Money money) {
         assertHasSameCurrencyAs(money);
+
+        if (isInMinorUnits() && money.isInMinorUnits()) { return Long.compare(this.minorUnits, money.minorUnits); }
+
         return getAmount().compareTo(money.getAmount());
     }
 
@@ -145,19 +286,41 @@ public class Money implements Quantifiable<Money> {
         if (!(object instanceof Money)) { return false; }
 
         Money other = (Money) object;
+        if (!hasSameCurrency(other)) { return false; }
+        if (isInMinorUnits() || other.isInMinorUnits()) { return this.minorUnits == other.minorUnits; }
 
-        return hasSameCurrency(other) && getAmount().equals(other.getAmount());
+        return getAmount().equals(other.getAmount());
     }
 
     @Override
     public int hashCode() {
         int result = 17;
-        result = 37 * result + getAmount().hashCode();
+        if (isInMinorUnits()) {
+            result = 37 * result + (int) (this.minorUnits ^ (this.minorUnits >>> 32));
+        }
+        else {
+            result = 37 * result + getAmount().hashCode();
+        }
         result = 37 * result + getCurrency().hashCode();
 
         return result;
     }
 
+    boolean isZero() {
+        return isInMinorUnits() ? this.minorUnits == 0 : getAmount().signum() == 0;
+    }
+
+    int ordinal() {
+        return this.ordinal;
+    }
+
+    /**
+     * Returns whether the amount is kept in {@link #minorUnits}.
+     */
+    boolean isInMinorUnits() {
+        return this.minorUnits != NOT_IN_MINOR_UNITS;
+    }
+
     @Override
     public String toString() {
         return getCurrency().getCurrencyCode() + " " + getAmount();
@@ -169,6 +332,43 @@ public class Money implements Quantifiable<Money> {
         if (this.currency == null) { throw new IllegalArgumentException("Currency cannot be null"); }
     }
 
+    private static boolean isExactInteger(Number number) {
+        if (number instanceof Integer || number instanceof Short || number instanceof Byte) { return true; }
+        if (!(number instanceof Long)) { return false; }
+
+        return Math.abs(number.longValue()) <= MAX_EXACT_DOUBLE;
+    }
+
+    /**
+     * Returns the minor units of an amount already scaled to the fraction digits of its currency, or
+     * {@link #NOT_IN_MINOR_UNITS} if they do not fit into a {@code long}. Every amount that fits is kept in minor
+     * units, so two monies in the same currency are equal only if both or neither are.
+     */
+    private static long minorUnitsOf(BigDecimal scaledAmount, int ordinal) {
+        if (CurrencyRegistry.scaleFactor(ordinal) == 0) { return NOT_IN_MINOR_UNITS; }
+
+        BigInteger unscaled = scaledAmount.unscaledValue();
+
+        return (unscaled.bitLength() < 64) ? unscaled.longValue() : NOT_IN_MINOR_UNITS;
+    }
+
+    private void writeObject(ObjectOutputStream output) throws IOException {
+        ObjectOutputStream.PutField fields = output.putFields();
+        fields.put("amount", getAmount());
+        fields.put("currency", this.currency);
+        output.writeFields();
+    }
+
+    private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = input.readFields();
+        this.amount = (BigDecimal) fields.get("amount", null);
+        this.currency = (Currency) fields.get("currency", null);
+        validateState();
+
+        this.ordinal = CurrencyRegistry.ordinal(this.currency);
+        this.minorUnits = minorUnitsOf(this.amount, this.ordinal);
+    }
+
     private void assertHasSameCurrencyAs(Money other) {
         if (!hasSameCurrency(other)) { 
             throw new IllegalArgumentException(other.toString() + " is not same currency as " + this.toString());
@@ -0,0 +1,191 @@
+package com.concepts.domain.money;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.concepts.domain.support.Assert;
+
+
+/**
+ * Mutable sum of {@link Money} in any number of currencies, for aggregating many amounts without creating
+ * intermediate {@link Money} or {@link BigDecimal} objects. Each currency has a bucket holding a {@code long} of minor
+ * units; amounts that do not fit into minor units, and sums overflowing a {@code long}, spill into a
+ * {@link BigDecimal} of the bucket. The totals are therefore exactly those of adding the amounts with
+ * {@link Money#plus(Money)}, and are built as {@link Money} once, by {@link #total(Currency)} or {@link #totals()}.
+ * <p>
+ * Buckets are indexed by the {@link CurrencyRegistry} ordinal of their currency, so finding the bucket of an amount is
+ * an array access.
+ * <p>
+ * An accumulator is meant for a single thread. Sums built by several threads are combined with
+ * {@link #merge(MoneyAccumulator)}.
+ */
+public final class MoneyAccumulator {
+
+    private long[] sums = new long[0];
+    private BigDecimal[] spills = new BigDecimal[0];
+    private boolean[] used = new boolean[0];
+    private int[] ordinals = new int[4];
+    private int size;
+
+    /**
+     * Adds {@code money} to the bucket of its currency.
+     */
+    public MoneyAccumulator add(Money money) {
+        Assert.notNull(money, "Money cannot be null");
+
+        int ordinal = bucket(money.ordinal());
+        if (money.isInMinorUnits()) {
+            addToBucket(ordinal, money.getAmountInMinorUnits());
+        }
+        else {
+            spill(ordinal, money.getAmount());
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds {@code minorUnits} minor units of {@code currency}, e.g. cents for US dollars.
+     *
+     * @throws IllegalArgumentException
+     *             If the currency has no minor units.
+     */
+    public MoneyAccumulator addMinorUnits(Currency currency, long minorUnits) {
+        Assert.notNull(currency, "Currency cannot be null");
+
+        int ordinal = CurrencyRegistry.ordinal(currency);
+        if (CurrencyRegistry.scaleFactor(ordinal) == 0) {
+            throw new IllegalArgumentException(currency + " has no minor units");
+        }
+
+        addToBucket(bucket(ordinal), minorUnits);
+
+        return this;
+    }
+
+    /**
+     * Adds the sums of {@code other}, e.g. the partial sums of another thread, to this accumulator.
+     */
+    public MoneyAccumulator merge(MoneyAccumulator other) {
+        Assert.notNull(other, "Accumulator cannot be null");
+
+        for (int i = 0; i < other.size; i++) {
+            int ordinal = bucket(other.ordinals[i]);
+            addToBucket(ordinal, other.sums[ordinal]);
+            if (other.spills[ordinal] != null) {
+                spill(ordinal, other.spills[ordinal]);
+            }
+        }
+
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns the currencies added so far, in the order they were first added.
+     */
+    public Currency[] currencies() {
+        Currency[] currencies = new Currency[this.size];
+        for (int i = 0; i < this.size; i++) {
+            currencies[i] = CurrencyRegistry.currency(this.ordinals[i]);
+        }
+
+        return currencies;
+    }
+
+    /**
+     * Returns the total of {@code currency}, zero if nothing was added in it.
+     */
+    public Money total(Currency currency) {
+        Assert.notNull(currency, "Currency cannot be null");
+
+        int ordinal = CurrencyRegistry.ordinal(currency);
+        if (ordinal < this.used.length && this.used[ordinal]) { return totalOf(ordinal); }
+
+        return Money.valueOf(0, currency);
+    }
+
+    /**
+     * Returns the totals per currency, in the order the currencies were first added.
+     */
+    public Map<Currency, Money> totals() {
+        Map<Currency, Money> totals = new LinkedHashMap<Currency, Money>();
+        for (int i = 0; i < this.size; i++) {
+            totals.put(CurrencyRegistry.currency(this.ordinals[i]), totalOf(this.ordinals[i]));
+        }
+
+        return totals;
+    }
+
+    /**
+     * Empties all buckets, keeping the accumulator for reuse.
+     */
+    public void clear() {
+        for (int i = 0; i < this.size; i++) {
+            int ordinal = this.ordinals[i];
+            this.sums[ordinal] = 0;
+            this.spills[ordinal] = null;
+            this.used[ordinal] = false;
+        }
+        this.size = 0;
+    }
+
+    @Override
+    public String toString() {
+        return totals().values().toString();
+    }
+
+    private Money totalOf(int ordinal) {
+        if (this.spills[ordinal] == null) { return Money.ofMinorUnits(this.sums[ordinal], ordinal); }
+
+        Currency currency = CurrencyRegistry.currency(ordinal);
+
+        return Money.valueOf(this.spills[ordinal].add(amountOf(this.sums[ordinal], ordinal)), currency);
+    }
+
+    /**
+     * Returns {@code ordinal} after making sure its bucket exists, recording the ordinal on first use.
+     */
+    private int bucket(int ordinal) {
+        if (ordinal < this.used.length && this.used[ordinal]) { return ordinal; }
+
+        if (ordinal >= this.used.length) {
+            int length = Math.max(ordinal + 1, CurrencyRegistry.size());
+            this.sums = Arrays.copyOf(this.sums, length);
+            this.spills = Arrays.copyOf(this.spills, length);
+            this.used = Arrays.copyOf(this.used, length);
+        }
+        if (this.size == this.ordinals.length) {
+            this.ordinals = Arrays.copyOf(this.ordinals, this.size * 2);
+        }
+        this.used[ordinal] = true;
+        this.ordinals[this.size++] = ordinal;
+
+        return ordinal;
+    }
+
+    private void addToBucket(int ordinal, long minorUnits) {
+        long sum = this.sums[ordinal];
+        long newSum = sum + minorUnits;
+        if (((sum ^ newSum) & (minorUnits ^ newSum)) < 0) {
+            spill(ordinal, amountOf(sum, ordinal));
+            newSum = minorUnits;
+        }
+        this.sums[ordinal] = newSum;
+    }
+
+    private void spill(int ordinal, BigDecimal amount) {
+        this.spills[ordinal] = (this.spills[ordinal] == null) ? amount : this.spills[ordinal].add(amount);
+    }
+
+    private static BigDecimal amountOf(long minorUnits, int ordinal) {
+        return BigDecimal.valueOf(minorUnits, Math.max(CurrencyRegistry.fractionDigits(ordinal), 0));
+    }
+
+}
@@ -0,0 +1,209 @@
+package com.concepts.domain.money;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+
+import com.concepts.domain.support.Assert;
+
+
+/**
+ * Aggregations of {@link Money}, as stream {@link Collector}s and as fork/join tasks over lists. Every aggregation adds
+ * amounts into primitive {@link MoneyAccumulator}s or {@link MoneyStatistics} per thread and merges the partial results
+ * exactly, so the outcome is the same for sequential and parallel streams and for any number of threads. Results per
+ * currency are sorted by currency code.
+ * <p>
+ * For example, the totals of a parallel stream of positions:
+ *
+ * <pre>
+ * Map&lt;Currency, Money&gt; totals = positions.parallelStream().map(Position::getValue)
+ *         .collect(MoneyAggregation.totalsByCurrency());
+ * </pre>
+ *
+ * @see MoneyAccumulator
+ * @see MoneyStatistics
+ */
+public final class MoneyAggregation {
+
+    private static final int THRESHOLD = 4096;
+
+    private static final Comparator<Currency> BY_CODE = new Comparator<Currency>() {
+
+        public int compare(Currency first, Currency second) {
+            return first.getCurrencyCode().compareTo(second.getCurrencyCode());
+        }
+    };
+
+    private MoneyAggregation() {
+    }
+
+    /**
+     * Returns a collector summing amounts in {@code currency}, which is zero for an empty stream.
+     *
+     * @throws IllegalArgumentException
+     *             From the collector, if an amount is in another currency.
+     */
+    public static Collector<Money, ?, Money> summing(final Currency currency) {
+        Assert.notNull(currency, "Currency cannot be null");
+
+        return Collector.of(MoneyAccumulator::new, MoneyAccumulator::add, MoneyAccumulator::merge,
+                accumulator -> totalOf(accumulator, currency));
+    }
+
+    /**
+     * Returns a collector totalling amounts per currency.
+     */
+    public static Collector<Money, ?, SortedMap<Currency, Money>> totalsByCurrency() {
+        return Collector.of(MoneyAccumulator::new, MoneyAccumulator::add, MoneyAccumulator::merge,
+                MoneyAggregation::sortedTotals);
+    }
+
+    /**
+     * Returns a collector computing count, sum, minimum and maximum of amounts in {@code currency}.
+     *
+     * @throws IllegalArgumentException
+     *             From the collector, if an amount is in another currency.
+     */
+    public static Collector<Money, ?, MoneyStatistics> summarizing(final Currency currency) {
+        Assert.notNull(currency, "Currency cannot be null");
+
+        return Collector.of(() -> new MoneyStatistics(currency), MoneyStatistics::accept, MoneyStatistics::combine);
+    }
+
+    /**
+     * Returns a collector computing count, sum, minimum and maximum of amounts per currency.
+     */
+    public static Collector<Money, ?, SortedMap<Currency, MoneyStatistics>> summarizingByCurrency() {
+        return Collector.of(() -> new TreeMap<Currency, MoneyStatistics>(BY_CODE), MoneyAggregation::accept,
+                MoneyAggregation::combine, Collections::unmodifiableSortedMap);
+    }
+
+    /**
+     * Totals {@code monies} per currency with fork/join tasks in the common pool.
+     */
+    public static SortedMap<Currency, Money> totalsByCurrency(List<? extends Money> monies) {
+        return collect(monies, totalsByCurrency(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes count, sum, minimum and maximum of {@code monies} in {@code currency} with fork/join tasks in the
+     * common pool.
+     */
+    public static MoneyStatistics summarize(List<? extends Money> monies, Currency currency) {
+        return collect(monies, summarizing(currency), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs {@code collector} over {@code monies} with fork/join tasks in {@code pool}. The list is split into ranges
+     * of consecutive amounts, and the partial results of adjacent ranges are combined from left to right. The list
+     * should support fast random access and must not change during the aggregation.
+     *
+     * @param monies
+     *            Amounts to aggregate.
+     * @param collector
+     *            Aggregation to run.
+     * @param pool
+     *            Pool running the tasks.
+     * @return Result of the collector.
+     */
+    public static <A, R> R collect(List<? extends Money> monies, Collector<Money, A, R> collector, ForkJoinPool pool) {
+        Assert.notNull(monies, "Monies cannot be null");
+        Assert.notNull(collector, "Collector cannot be null");
+        Assert.notNull(pool, "Pool cannot be null");
+
+        A result = pool.invoke(new AggregationTask<A>(monies, collector, 0, monies.size()));
+
+        return collector.finisher().apply(result);
+    }
+
+    private static Money totalOf(MoneyAccumulator accumulator, Currency currency) {
+        for (Currency other : accumulator.currencies()) {
+            if (!other.equals(currency)) {
+                throw new IllegalArgumentException(other + " is not same currency as " + currency);
+            }
+        }
+
+        return accumulator.total(currency);
+    }
+
+    private static SortedMap<Currency, Money> sortedTotals(MoneyAccumulator accumulator) {
+        SortedMap<Currency, Money> totals = new TreeMap<Currency, Money>(BY_CODE);
+        totals.putAll(accumulator.totals());
+
+        return Collections.unmodifiableSortedMap(totals);
+    }
+
+    private static void accept(TreeMap<Currency, MoneyStatistics> statistics, Money money) {
+        MoneyStatistics currencyStatistics = statistics.get(money.getCurrency());
+        if (currencyStatistics == null) {
+            currencyStatistics = new MoneyStatistics(money.getCurrency());
+            statistics.put(money.getCurrency(), currencyStatistics);
+        }
+        currencyStatistics.accept(money);
+    }
+
+    private static TreeMap<Currency, MoneyStatistics> combine(TreeMap<Currency, MoneyStatistics> statistics,
+            TreeMap<Currency, MoneyStatistics> other) {
+        for (Map.Entry<Currency, MoneyStatistics> entry : other.entrySet()) {
+            MoneyStatistics currencyStatistics = statistics.get(entry.getKey());
+            if (currencyStatistics == null) {
+                statistics.put(entry.getKey(), entry.getValue());
+            }
+            else {
+                currencyStatistics.combine(entry.getValue());
+            }
+        }
+
+        return statistics;
+    }
+
+    /**
+     * Accumulates the amounts from {@code from} to {@code to}, splitting ranges above {@link #THRESHOLD} in halves.
+     */
+    private static final class AggregationTask<A> extends RecursiveTask<A> {
+
+        private static final long serialVersionUID = -6153917302834568124L;
+
+        private final List<? extends Money> monies;
+        private final Collector<Money, A, ?> collector;
+        private final int from;
+        private final int to;
+
+        AggregationTask(List<? extends Money> monies, Collector<Money, A, ?> collector, int from, int to) {
+            this.monies = monies;
+            this.collector = collector;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected A compute() {
+            if (this.to - this.from <= THRESHOLD) {
+                A container = this.collector.supplier().get();
+                BiConsumer<A, Money> accumulator = this.collector.accumulator();
+                for (int i = this.from; i < this.to; i++) {
+                    accumulator.accept(container, this.monies.get(i));
+                }
+
+                return container;
+            }
+
+            int middle = this.from + (this.to - this.from) / 2;
+            AggregationTask<A> left = new AggregationTask<A>(this.monies, this.collector, this.from, middle);
+            left.fork();
+            A right = new AggregationTask<A>(this.monies, this.collector, middle, this.to).compute();
+
+            return this.collector.combiner().apply(left.join(), right);
+        }
+
+    }
+
+}
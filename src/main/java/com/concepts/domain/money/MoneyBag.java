@@ -0,0 +1,265 @@
+package com.concepts.domain.money;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.concepts.domain.support.Assert;
+
+
+/**
+ * Immutable amounts of {@link Money} in any number of currencies, such as the value of a portfolio. Bags add, subtract
+ * and multiply per currency, without conversion, and convert into a single currency only through
+ * {@link #convertTo(Currency, ExchangeRates)}.
+ * <p>
+ * A bag keeps one non zero amount per currency, ordered by the ordinals the currencies were assigned on first use, so
+ * combining two bags is a merge of two sorted arrays and a conversion looks up each rate by ordinal in the
+ * {@link ExchangeRates} matrix.
+ * <p>
+ * Reference: Test Driven Development: By Example - Kent Beck.
+ *
+ * @see Money
+ * @see ExchangeRates
+ */
+public final class MoneyBag implements Serializable {
+
+    private static final long serialVersionUID = -5081546232290917475L;
+
+    public static final MoneyBag EMPTY = new MoneyBag(new int[0], new Money[0]);
+
+    private final transient int[] ordinals;
+    private final Money[] amounts;
+
+    public static MoneyBag of(Money... monies) {
+        Assert.notNull(monies, "Monies cannot be null");
+
+        return build(monies.clone(), monies.length);
+    }
+
+    public static MoneyBag copyOf(Iterable<Money> monies) {
+        Assert.notNull(monies, "Monies cannot be null");
+
+        Money[] array = new Money[16];
+        int size = 0;
+        for (Money money : monies) {
+            if (size == array.length) {
+                array = Arrays.copyOf(array, size * 2);
+            }
+            array[size++] = money;
+        }
+
+        return build(array, size);
+    }
+
+    private MoneyBag(int[] ordinals, Money[] amounts) {
+        this.ordinals = ordinals;
+        this.amounts = amounts;
+    }
+
+    public boolean isEmpty() {
+        return this.amounts.length == 0;
+    }
+
+    /**
+     * Returns the number of currencies with a non zero amount.
+     */
+    public int size() {
+        return this.amounts.length;
+    }
+
+    public Set<Currency> getCurrencies() {
+        Set<Currency> currencies = new LinkedHashSet<Currency>();
+        for (Money amount : this.amounts) {
+            currencies.add(amount.getCurrency());
+        }
+
+        return Collections.unmodifiableSet(currencies);
+    }
+
+    /**
+     * Returns the amount in {@code currency}, zero if the bag holds none.
+     */
+    public Money getAmount(Currency currency) {
+        Assert.notNull(currency, "Currency cannot be null");
+
+        int index = Arrays.binarySearch(this.ordinals, CurrencyRegistry.ordinal(currency));
+
+        return (index >= 0) ? this.amounts[index] : Money.valueOf(0, currency);
+    }
+
+    /**
+     * Returns the non zero amounts, one per currency.
+     */
+    public List<Money> getAmounts() {
+        return Collections.unmodifiableList(Arrays.asList(this.amounts));
+    }
+
+    public MoneyBag plus(Money money) {
+        return plus(of(money));
+    }
+
+    public MoneyBag plus(MoneyBag other) {
+        Assert.notNull(other, "Money bag cannot be null");
+        if (other.isEmpty()) { return this; }
+        if (isEmpty()) { return other; }
+
+        int[] newOrdinals = new int[this.ordinals.length + other.ordinals.length];
+        Money[] newAmounts = new Money[newOrdinals.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < this.ordinals.length || j < other.ordinals.length) {
+            Money amount;
+            int ordinal;
+            if (j == other.ordinals.length || (i < this.ordinals.length && this.ordinals[i] < other.ordinals[j])) {
+                ordinal = this.ordinals[i];
+                amount = this.amounts[i++];
+            }
+            else if (i == this.ordinals.length || other.ordinals[j] < this.ordinals[i]) {
+                ordinal = other.ordinals[j];
+                amount = other.amounts[j++];
+            }
+            else {
+                ordinal = this.ordinals[i];
+                amount = this.amounts[i++].plus(other.amounts[j++]);
+            }
+            if (!amount.isZero()) {
+                newOrdinals[size] = ordinal;
+                newAmounts[size++] = amount;
+            }
+        }
+
+        return new MoneyBag(Arrays.copyOf(newOrdinals, size), Arrays.copyOf(newAmounts, size));
+    }
+
+    public MoneyBag minus(Money money) {
+        return plus(money.negate());
+    }
+
+    public MoneyBag minus(MoneyBag other) {
+        return plus(other.negate());
+    }
+
+    public MoneyBag negate() {
+        Money[] newAmounts = new Money[this.amounts.length];
+        for (int i = 0; i < newAmounts.length; i++) {
+            newAmounts[i] = this.amounts[i].negate();
+        }
+
+        return new MoneyBag(this.ordinals, newAmounts);
+    }
+
+    /**
+     * Multiplies the amount in each currency by {@code multiplicand}, as {@link Money#times(Number)} does.
+     */
+    public MoneyBag times(Number multiplicand) {
+        Assert.notNull(multiplicand, "Multiplicand cannot be null");
+
+        int[] newOrdinals = new int[this.ordinals.length];
+        Money[] newAmounts = new Money[this.amounts.length];
+        int size = 0;
+        for (int i = 0; i < this.amounts.length; i++) {
+            Money amount = this.amounts[i].times(multiplicand);
+            if (!amount.isZero()) {
+                newOrdinals[size] = this.ordinals[i];
+                newAmounts[size++] = amount;
+            }
+        }
+
+        return new MoneyBag(Arrays.copyOf(newOrdinals, size), Arrays.copyOf(newAmounts, size));
+    }
+
+    /**
+     * Converts the bag into {@code target}. The amounts are multiplied by their rates and summed exactly, and the
+     * total is rounded half even to the minor units of the target currency once.
+     *
+     * @param target
+     *            Currency to convert into.
+     * @param rates
+     *            Exchange rates to convert with.
+     * @return Value of the bag in {@code target}.
+     */
+    public Money convertTo(Currency target, ExchangeRates rates) {
+        Assert.notNull(target, "Currency cannot be null");
+        Assert.notNull(rates, "Exchange rates cannot be null");
+
+        int targetOrdinal = CurrencyRegistry.ordinal(target);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < this.amounts.length; i++) {
+            BigDecimal amount = this.amounts[i].getAmount();
+            total = total.add((this.ordinals[i] == targetOrdinal) ? amount : amount.multiply(rates.rate(
+                    this.ordinals[i], targetOrdinal)));
+        }
+
+        return Money.valueOf(total, target);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (object == null) { return false; }
+        if (this == object) { return true; }
+        if (!(object instanceof MoneyBag)) { return false; }
+
+        MoneyBag other = (MoneyBag) object;
+
+        return Arrays.equals(this.amounts, other.amounts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.amounts);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(this.amounts);
+    }
+
+    /**
+     * Sorts the first {@code size} monies by the ordinals of their currencies, adding up amounts in the same currency
+     * and dropping zero amounts.
+     */
+    private static MoneyBag build(Money[] monies, int size) {
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            Assert.notNull(monies[i], "Money cannot be null");
+            keys[i] = ((long) monies[i].ordinal() << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        int[] ordinals = new int[size];
+        Money[] amounts = new Money[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int ordinal = (int) (keys[i] >>> 32);
+            Money money = monies[(int) keys[i]];
+            if (count > 0 && ordinals[count - 1] == ordinal) {
+                amounts[count - 1] = amounts[count - 1].plus(money);
+            }
+            else {
+                ordinals[count] = ordinal;
+                amounts[count++] = money;
+            }
+        }
+
+        int nonZero = 0;
+        for (int i = 0; i < count; i++) {
+            if (!amounts[i].isZero()) {
+                ordinals[nonZero] = ordinals[i];
+                amounts[nonZero++] = amounts[i];
+            }
+        }
+
+        return new MoneyBag(Arrays.copyOf(ordinals, nonZero), Arrays.copyOf(amounts, nonZero));
+    }
+
+    private Object readResolve() {
+        return build(this.amounts, this.amounts.length);
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.concepts.domain.money;
+
+import java.util.Currency;
+import java.util.NoSuchElementException;
+
+import com.concepts.domain.support.Assert;
+
+
+/**
+ * Count, sum, minimum and maximum of {@link Money} in one currency, in the manner of
+ * {@link java.util.LongSummaryStatistics}. The sum is kept by a {@link MoneyAccumulator} and is exact, the minimum and
+ * maximum are the {@link Money} instances passed in, so accepting an amount creates no objects.
+ * <p>
+ * Statistics are meant for a single thread; statistics built by several threads are combined with
+ * {@link #combine(MoneyStatistics)}, with the same result in any order.
+ *
+ * @see MoneyAggregation
+ */
+public final class MoneyStatistics {
+
+    private final Currency currency;
+    private final int ordinal;
+    private final MoneyAccumulator sum = new MoneyAccumulator();
+    private long count;
+    private Money min;
+    private Money max;
+
+    public MoneyStatistics(Currency currency) {
+        Assert.notNull(currency, "Currency cannot be null");
+
+        this.currency = currency;
+        this.ordinal = CurrencyRegistry.ordinal(currency);
+    }
+
+    /**
+     * Adds {@code money} to the statistics.
+     *
+     * @throws IllegalArgumentException
+     *             If {@code money} is not in the currency of the statistics.
+     */
+    public void accept(Money money) {
+        Assert.notNull(money, "Money cannot be null");
+        assertSameCurrency(money.ordinal());
+
+        this.sum.add(money);
+        this.count++;
+        if (this.min == null || money.isLessThan(this.min)) {
+            this.min = money;
+        }
+        if (this.max == null || money.isGreaterThan(this.max)) {
+            this.max = money;
+        }
+    }
+
+    /**
+     * Adds the statistics of {@code other}, e.g. those of another thread, to these statistics.
+     */
+    public MoneyStatistics combine(MoneyStatistics other) {
+        Assert.notNull(other, "Statistics cannot be null");
+        assertSameCurrency(other.ordinal);
+
+        this.sum.merge(other.sum);
+        this.count += other.count;
+        if (other.min != null && (this.min == null || other.min.isLessThan(this.min))) {
+            this.min = other.min;
+        }
+        if (other.max != null && (this.max == null || other.max.isGreaterThan(this.max))) {
+            this.max = other.max;
+        }
+
+        return this;
+    }
+
+    public Currency getCurrency() {
+        return this.currency;
+    }
+
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Returns the sum of the amounts, zero if there are none.
+     */
+    public Money getSum() {
+        return this.sum.total(this.currency);
+    }
+
+    /**
+     * Returns the smallest amount.
+     *
+     * @throws NoSuchElementException
+     *             If there are no amounts.
+     */
+    public Money getMin() {
+        if (this.count == 0) { throw new NoSuchElementException("No amounts in " + this.currency); }
+
+        return this.min;
+    }
+
+    /**
+     * Returns the largest amount.
+     *
+     * @throws NoSuchElementException
+     *             If there are no amounts.
+     */
+    public Money getMax() {
+        if (this.count == 0) { throw new NoSuchElementException("No amounts in " + this.currency); }
+
+        return this.max;
+    }
+
+    @Override
+    public String toString() {
+        return this.currency + "{count=" + this.count + ", sum=" + getSum() + ", min=" + this.min + ", max="
+                + this.max + "}";
+    }
+
+    private void assertSameCurrency(int otherOrdinal) {
+        if (otherOrdinal != this.ordinal) {
+            throw new IllegalArgumentException(CurrencyRegistry.currency(otherOrdinal) + " is not same currency as "
+                    + this.currency);
+        }
+    }
+
+}
@@ -1,7 +1,17 @@
 package com.concepts.domain.time;
 
+import java.util.BitSet;
 import java.util.Calendar;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.concepts.domain.support.Assert;
 
 
 /**
@@ -9,6 +19,33 @@ import java.util.Set;
  * nor a holiday. The class is implemented as abstract class to allow for company to specify all holidays as per
  * corporate policy.
  * <p>
+ * The weekend days are configured per calendar through {@link #setWeekendDays()}, Saturday and Sunday by default, and
+ * are kept as a bit mask tested against the day of the week computed arithmetically from the epoch day of a date.
+ * <p>
+ * Business day offsets are answered from an ordinal index precomputed once per calendar over a range of years. The
+ * range defaults to {@value #DEFAULT_FIRST_INDEXED_YEAR} - {@value #DEFAULT_LAST_INDEXED_YEAR} and can be configured
+ * through the constructor. Dates outside the indexed range are walked day by day. The same index counts the business
+ * days between two dates with two lookups, and is updated incrementally for the days affected by holiday changes.
+ * <p>
+ * Holidays are kept as a bitmap keyed by epoch day, so {@link #isHoliday(CalendarDate)} allocates nothing and a
+ * calendar spanning decades of holidays needs only a few KB.
+ * <p>
+ * Holidays and index form an immutable snapshot that is replaced atomically on every change. Queries never block and
+ * always see a consistent snapshot, which makes a calendar safe to refresh while it is being used by other threads.
+ * {@link #updateHolidays(Set, Set)} publishes many changes at once. The index reflects {@link #isWeekend(CalendarDate)}
+ * and the holidays, subclasses customise business days through those rather than {@link #isBusinessDay(CalendarDate)}.
+ * <p>
+ * The first and last calendar and business days of every indexed month are kept in a month table which is rebuilt
+ * with the first month boundary query after the holidays changed.
+ * <p>
+ * The business days of a whole range of dates are available as a mask, as day offsets or as a lazy sequence. Within
+ * the indexed range these are read straight off the index in a single pass over the business days.
+ * <p>
+ * Recurring holidays can be given as {@link HolidayRule}s instead of dates, see {@link #setHolidayRules()}. The rules
+ * are evaluated into the holiday bitmap one year at a time, the first time that year is queried, so years nobody asks
+ * about cost nothing. This holds for range and offset queries as well, which evaluate the rules only for the years
+ * from their first to their last day. Threads touching a new year at the same time all publish the same holidays.
+ * <p>
  * Reference: Time and Money in Domain Model - Eric Evans.
  * 
  * @author ishitarakshit
@@ -18,31 +55,125 @@ import java.util.Set;
  */
 public abstract class BusinessCalendar {
 
-    private Set<CalendarDate> holidays;
+    public static final int DEFAULT_FIRST_INDEXED_YEAR = 1950;
+    public static final int DEFAULT_LAST_INDEXED_YEAR = 2100;
+
+    private final int firstIndexedYear;
+    private final int lastIndexedYear;
+    private final int weekendMask;
+    private final List<HolidayRule> holidayRules;
+    private final AtomicReference<BusinessCalendarState> state;
 
     public BusinessCalendar() {
-        this.holidays = setCorporateHolidays();
+        this(DEFAULT_FIRST_INDEXED_YEAR, DEFAULT_LAST_INDEXED_YEAR);
+    }
+
+    public BusinessCalendar(int firstIndexedYear, int lastIndexedYear) {
+        this(firstIndexedYear, lastIndexedYear, 0, null);
+    }
+
+    BusinessCalendar(int firstIndexedYear, int lastIndexedYear, int weekendMask, HolidayBitmap holidays) {
+        this(firstIndexedYear, lastIndexedYear, weekendMask, holidays, null);
+    }
+
+    /**
+     * Creates a calendar starting with {@code holidays} and {@code weekendMask}, or with the corporate holidays and
+     * weekend days if {@code null}, and with a prebuilt {@code index} for those holidays, or with an index built on
+     * first use if {@code null}. The holiday rules are only applied together with the corporate holidays.
+     */
+    BusinessCalendar(int firstIndexedYear, int lastIndexedYear, int weekendMask, HolidayBitmap holidays,
+            BusinessDayIndex index) {
+        Assert.isTrue(firstIndexedYear <= lastIndexedYear, "First indexed year " + firstIndexedYear
+                + " must not be after last indexed year " + lastIndexedYear);
+
+        this.firstIndexedYear = firstIndexedYear;
+        this.lastIndexedYear = lastIndexedYear;
+        if (holidays == null) {
+            Set<CalendarDate> corporateHolidays = setCorporateHolidays();
+            Assert.notNull(corporateHolidays, "Corporate holidays cannot be null");
+            Set<HolidayRule> rules = setHolidayRules();
+            Assert.notNull(rules, "Holiday rules cannot be null");
+            Set<Integer> weekendDays = setWeekendDays();
+            Assert.notNull(weekendDays, "Weekend days cannot be null");
+
+            holidays = HolidayBitmap.of(corporateHolidays);
+            this.holidayRules = new ArrayList<HolidayRule>(rules);
+            this.weekendMask = maskOf(weekendDays);
+        }
+        else {
+            this.holidayRules = Collections.emptyList();
+            this.weekendMask = weekendMask;
+        }
+
+        this.state = new AtomicReference<BusinessCalendarState>(new BusinessCalendarState(holidays, index));
     }
 
     public abstract Set<CalendarDate> setCorporateHolidays();
 
+    /**
+     * Returns the rules generating the recurring holidays of the calendar, in addition to
+     * {@link #setCorporateHolidays()}. Called once on construction, the default has no rules.
+     * 
+     * @return Holiday rules of the calendar.
+     */
+    public Set<HolidayRule> setHolidayRules() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Returns the days of the week which are weekend days, as {@link Calendar#SUNDAY} to {@link Calendar#SATURDAY}.
+     * Called once on construction, the default is Saturday and Sunday.
+     * 
+     * @return Weekend days of the calendar.
+     */
+    public Set<Integer> setWeekendDays() {
+        Set<Integer> weekendDays = new HashSet<Integer>();
+        weekendDays.add(Calendar.SATURDAY);
+        weekendDays.add(Calendar.SUNDAY);
+
+        return weekendDays;
+    }
+
     public void addHolidays(Set<CalendarDate> days) {
-        this.holidays.addAll(days);
+        updateHolidays(days, Collections.<CalendarDate> emptySet());
     }
 
     public void removeHolidays(Set<CalendarDate> days) {
-        this.holidays.removeAll(days);
+        updateHolidays(Collections.<CalendarDate> emptySet(), days);
+    }
+
+    /**
+     * Adds and removes holidays as a single change. Concurrent queries see either all or none of the changes. A day
+     * contained in both sets ends up as a holiday.
+     * 
+     * @param added
+     *            Days to add as holidays.
+     * @param removed
+     *            Days which are no longer holidays.
+     * @throws IllegalArgumentException
+     *             If a day does not exist, like February 31st.
+     */
+    public void updateHolidays(Set<CalendarDate> added, Set<CalendarDate> removed) {
+        Assert.notNull(added, "Added holidays cannot be null");
+        Assert.notNull(removed, "Removed holidays cannot be null");
+
+        materializeYearsOf(added);
+        materializeYearsOf(removed);
+
+        BusinessCalendarState current;
+        BusinessCalendarState next;
+        do {
+            current = this.state.get();
+            next = current.withHolidays(this, added, removed);
+        } while (!this.state.compareAndSet(current, next));
     }
 
     public boolean isHoliday(CalendarDate day) {
-        return this.holidays.contains(day);
+        return day.exists() && materialized(day.getYear(), day.getYear()).getHolidays().contains(day.toEpochDay());
     }
 
     public boolean isWeekend(CalendarDate day) {
-        Calendar dayAsJavaCalendar = day.asJavaCalendar();
-
-        return (dayAsJavaCalendar.get(Calendar.DAY_OF_WEEK) == Calendar.SATURDAY || dayAsJavaCalendar
-                .get(Calendar.DAY_OF_WEEK) == Calendar.SUNDAY);
+        return (this.weekendMask & (1 << EpochDays.dayOfWeek(day.toEpochDay()))) != 0;
     }
 
     public boolean isBusinessDay(CalendarDate day) {
@@ -58,32 +189,29 @@ public abstract class BusinessCalendar {
     }
 
     public CalendarDate plusBusinessDays(CalendarDate from, int numberOfBusinessDays) {
-        if (!isBusinessDay(from) && numberOfBusinessDays == 0) { 
-            throw new IllegalArgumentException("0 day increment/decrement from a holiday or weekend in not valid");
-        }
+        int epochDay = from.toEpochDay();
+        BusinessDayIndex index = index(epochDay, epochDay);
+        boolean indexed = index.covers(epochDay);
 
-        if (numberOfBusinessDays >= 0) {
-            CalendarDate lookAhead = from;
-            while (numberOfBusinessDays != 0) {
-                lookAhead = lookAhead.nextDay();
-                if (isBusinessDay(lookAhead)) {
-                    numberOfBusinessDays--;
-                }
+        if (numberOfBusinessDays == 0) {
+            if (indexed ? !index.isBusinessDay(epochDay) : !isBusinessDay(from)) { 
+                throw new IllegalArgumentException("0 day increment/decrement from a holiday or weekend in not valid");
             }
 
-            return lookAhead;
+            return from;
         }
-        else {
-            CalendarDate lookBack = from;
-            while (numberOfBusinessDays != 0) {
-                lookBack = lookBack.previousDay();
-                if (isBusinessDay(lookBack)) {
-                    numberOfBusinessDays++;
-                }
-            }
 
-            return lookBack;
+        if (indexed) {
+            int result = index.plusBusinessDays(epochDay, numberOfBusinessDays);
+            while (result != Integer.MIN_VALUE && !isMaterialized(EpochDays.yearOf(Math.min(epochDay, result)),
+                    EpochDays.yearOf(Math.max(epochDay, result)))) {
+                index = index(Math.min(epochDay, result), Math.max(epochDay, result));
+                result = index.plusBusinessDays(epochDay, numberOfBusinessDays);
+            }
+            if (result != Integer.MIN_VALUE) { return EpochDays.toCalendarDate(result); }
         }
+
+        return walkBusinessDays(from, numberOfBusinessDays);
     }
 
     public CalendarDate minusBusinessDays(CalendarDate from, int numberOfBusinessDays) {
@@ -91,19 +219,20 @@ public abstract class BusinessCalendar {
     }
 
     public int getNumberOfDaysBetween(CalendarDate from, CalendarDate to) {
-        final long fromInMilliseconds = from.asJavaDate().getTime();
-        final long toInMilliseconds = to.asJavaDate().getTime();
-
-        long timeDifferenceInMilliseconds = Math.abs(toInMilliseconds - fromInMilliseconds);
-        long differenceInDays = timeDifferenceInMilliseconds / TimeUnitConversionFactors.MILLISECONDS_PER_DAY;
-
-        return (int) differenceInDays;
+        return Math.abs(from.daysUntil(to));
     }
 
     public int getNumberOfBusinessDaysBetween(CalendarDate from, CalendarDate to) {
         CalendarDate earlierDate = (from.isBefore(to)) ? from : to;
         CalendarDate laterDate = (from.isBefore(to)) ? to : from;
 
+        int earlierEpochDay = earlierDate.toEpochDay();
+        int laterEpochDay = laterDate.toEpochDay();
+        BusinessDayIndex index = index(earlierEpochDay, laterEpochDay);
+        if (index.coversBetween(earlierEpochDay, laterEpochDay)) {
+            return index.countBusinessDays(earlierEpochDay, laterEpochDay);
+        }
+
         int count = 0;
         while (!earlierDate.equals(laterDate)) {
             if (isBusinessDay(earlierDate)) {
@@ -115,13 +244,113 @@ public abstract class BusinessCalendar {
         return count;
     }
 
+    /**
+     * Marks the business days from {@code from} to {@code to}, both inclusive. Bit {@code i} of the mask is set if the
+     * {@code i}-th day after {@code from} is a business day.
+     * 
+     * @param from
+     *            First day of the range.
+     * @param to
+     *            Last day of the range, not before {@code from}.
+     * @return Mask of the business days in the range.
+     */
+    public BitSet businessDayMask(CalendarDate from, CalendarDate to) {
+        int fromEpochDay = from.toEpochDay();
+        int toEpochDay = to.toEpochDay();
+        assertIsRange(fromEpochDay, toEpochDay);
+
+        BitSet mask = new BitSet(toEpochDay - fromEpochDay + 1);
+        BusinessDayIndex index = index(fromEpochDay, toEpochDay);
+        if (index.coversBetween(fromEpochDay, toEpochDay + 1)) {
+            int end = index.ordinal(toEpochDay + 1);
+            for (int ordinal = index.ordinal(fromEpochDay); ordinal < end; ordinal++) {
+                mask.set(index.businessDayAt(ordinal) - fromEpochDay);
+            }
+        }
+        else {
+            CalendarDate day = from;
+            for (int i = 0; i <= toEpochDay - fromEpochDay; i++) {
+                if (isBusinessDay(day)) {
+                    mask.set(i);
+                }
+                day = day.nextDay();
+            }
+        }
+
+        return mask;
+    }
+
+    /**
+     * Lists the business days from {@code from} to {@code to}, both inclusive, as ascending day offsets from
+     * {@code from}.
+     * 
+     * @param from
+     *            First day of the range.
+     * @param to
+     *            Last day of the range, not before {@code from}.
+     * @return Offsets of the business days in the range.
+     */
+    public int[] businessDayOffsets(CalendarDate from, CalendarDate to) {
+        int fromEpochDay = from.toEpochDay();
+        int toEpochDay = to.toEpochDay();
+        assertIsRange(fromEpochDay, toEpochDay);
+
+        BusinessDayIndex index = index(fromEpochDay, toEpochDay);
+        if (index.coversBetween(fromEpochDay, toEpochDay + 1)) {
+            int start = index.ordinal(fromEpochDay);
+            int[] offsets = new int[index.ordinal(toEpochDay + 1) - start];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = index.businessDayAt(start + i) - fromEpochDay;
+            }
+
+            return offsets;
+        }
+
+        BitSet mask = businessDayMask(from, to);
+        int[] offsets = new int[mask.cardinality()];
+        for (int i = 0, offset = mask.nextSetBit(0); offset >= 0; i++, offset = mask.nextSetBit(offset + 1)) {
+            offsets[i] = offset;
+        }
+
+        return offsets;
+    }
+
+    /**
+     * Returns the business days from {@code from} to {@code to}, both inclusive, as a sequence which finds each
+     * business day only when it is iterated to.
+     * 
+     * @param from
+     *            First day of the range.
+     * @param to
+     *            Last day of the range, not before {@code from}.
+     * @return Business days in the range in ascending order.
+     */
+    public Iterable<CalendarDate> businessDays(final CalendarDate from, final CalendarDate to) {
+        assertIsRange(from.toEpochDay(), to.toEpochDay());
+
+        return new Iterable<CalendarDate>() {
+
+            public Iterator<CalendarDate> iterator() {
+                return new BusinessDayIterator(from, to);
+            }
+        };
+    }
+
     public CalendarDate firstDayOfMonth(CalendarDate date) {
+        MonthTable months = months();
+        int month = months.indexOf(date);
+        if (month >= 0) { return months.firstDayAt(month); }
+
         Calendar c = date.asJavaCalendar();
 
         return CalendarDate.from(c.get(Calendar.YEAR), c.get(Calendar.MONTH) + 1, 1);
     }
 
     public CalendarDate lastDayOfMonth(CalendarDate date) {
+        MonthTable months = months();
+        int month = months.indexOf(date);
+        if (month >= 0) { return months.lastDayAt(month); }
+
         Calendar c = date.asJavaCalendar();
 
         return CalendarDate.from(c.get(Calendar.YEAR), c.get(Calendar.MONTH) + 1,
@@ -129,15 +358,279 @@ public abstract class BusinessCalendar {
     }
 
     public CalendarDate firstBusinessDayOfMonth(CalendarDate date) {
+        int year = date.getYear();
+        materialized(year, year);
+        MonthTable months = months();
+        int month = months.indexOf(date);
+        CalendarDate result = (month >= 0) ? months.firstBusinessDayAt(month) : null;
+        while (result != null && !isMaterialized(year, result.getYear())) {
+            materialized(year, result.getYear());
+            months = months();
+            result = months.firstBusinessDayAt(month);
+        }
+        if (result != null) { return result; }
+
         CalendarDate firstDayOfMonth = firstDayOfMonth(date);
 
         return (isBusinessDay(firstDayOfMonth)) ? firstDayOfMonth : nextBusinessDay(firstDayOfMonth);
     }
 
     public CalendarDate lastBusinessDayOfMonth(CalendarDate date) {
+        int year = date.getYear();
+        materialized(year, year);
+        MonthTable months = months();
+        int month = months.indexOf(date);
+        CalendarDate result = (month >= 0) ? months.lastBusinessDayAt(month) : null;
+        while (result != null && !isMaterialized(result.getYear(), year)) {
+            materialized(result.getYear(), year);
+            months = months();
+            result = months.lastBusinessDayAt(month);
+        }
+        if (result != null) { return result; }
+
         CalendarDate lastDayOfMonth = lastDayOfMonth(date);
 
         return (isBusinessDay(lastDayOfMonth)) ? lastDayOfMonth : previousBusinessDay(lastDayOfMonth);
     }
 
+    int getFirstIndexedYear() {
+        return this.firstIndexedYear;
+    }
+
+    int getLastIndexedYear() {
+        return this.lastIndexedYear;
+    }
+
+    /**
+     * Returns the weekend days of {@code calendar} as a mask, bit 0 standing for Monday to bit 6 for Sunday. The mask
+     * is derived from {@link #isWeekend(CalendarDate)}, which is assumed to repeat every week.
+     */
+    static int weekendMaskOf(BusinessCalendar calendar) {
+        int mask = 0;
+        for (int epochDay = 0; epochDay < 7; epochDay++) {
+            if (calendar.isWeekend(EpochDays.toCalendarDate(epochDay))) {
+                mask |= 1 << EpochDays.dayOfWeek(epochDay);
+            }
+        }
+
+        return mask;
+    }
+
+    /**
+     * Returns the holidays, with the holiday rules applied at least to the indexed years.
+     */
+    HolidayBitmap getHolidays() {
+        return getHolidays(this.firstIndexedYear, this.lastIndexedYear);
+    }
+
+    /**
+     * Returns the holidays, with the holiday rules applied at least to the years from {@code firstYear} to
+     * {@code lastYear}.
+     */
+    HolidayBitmap getHolidays(int firstYear, int lastYear) {
+        return materialized(firstYear, lastYear).getHolidays();
+    }
+
+    /**
+     * Returns the index for queries from {@code fromEpochDay} to {@code toEpochDay}, with the holiday rules applied to
+     * the years of these days.
+     */
+    BusinessDayIndex index(int fromEpochDay, int toEpochDay) {
+        return indexed(materialized(EpochDays.yearOf(fromEpochDay), EpochDays.yearOf(toEpochDay))).getIndex();
+    }
+
+    /**
+     * Returns the month table of the current holidays. The first and last business days of a month are only correct
+     * if the holiday rules have been applied to the years between the month and those days.
+     */
+    private MonthTable months() {
+        BusinessCalendarState current = indexed(this.state.get());
+        MonthTable result = current.getMonths();
+        if (result == null) {
+            result = MonthTable.build(current.getIndex());
+            this.state.compareAndSet(current, current.withMonths(result));
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the current holidays together with their index, with the holiday rules applied to all indexed years.
+     */
+    BusinessCalendarState snapshot() {
+        return indexed(materialized(this.firstIndexedYear, this.lastIndexedYear));
+    }
+
+    /**
+     * Returns {@code current} with an index, building the index if needed.
+     */
+    private BusinessCalendarState indexed(BusinessCalendarState current) {
+        if (current.getIndex() != null) { return current; }
+
+        BusinessCalendarState indexed = current.withIndex(BusinessDayIndex.build(this, current.getHolidays(),
+                this.firstIndexedYear, this.lastIndexedYear));
+        this.state.compareAndSet(current, indexed);
+
+        return indexed;
+    }
+
+    /**
+     * Returns the current state after applying the holiday rules to the years from {@code firstYear} to
+     * {@code lastYear} which have not been materialized yet. The rules are pure functions of the year, so threads
+     * racing to materialize a year generate the same holidays and whichever publishes first wins.
+     */
+    private BusinessCalendarState materialized(int firstYear, int lastYear) {
+        BusinessCalendarState current = this.state.get();
+        if (this.holidayRules.isEmpty() || lastYear < 0) { return current; }
+        if (current.isMaterialized(Math.max(firstYear, 0), lastYear)) { return current; }
+
+        BitSet years = missingYears(current, firstYear, lastYear);
+        while (!years.isEmpty()) {
+            BusinessCalendarState next = current.withMaterializedYears(this, years, generateHolidays(years));
+            if (this.state.compareAndSet(current, next)) { return next; }
+
+            current = this.state.get();
+            years = missingYears(current, firstYear, lastYear);
+        }
+
+        return current;
+    }
+
+    private boolean isMaterialized(int firstYear, int lastYear) {
+        return this.holidayRules.isEmpty() || lastYear < 0
+                || this.state.get().isMaterialized(Math.max(firstYear, 0), lastYear);
+    }
+
+    private void materializeYearsOf(Set<CalendarDate> days) {
+        for (CalendarDate day : days) {
+            materialized(day.getYear(), day.getYear());
+        }
+    }
+
+    private static BitSet missingYears(BusinessCalendarState current, int firstYear, int lastYear) {
+        BitSet years = new BitSet();
+        for (int year = Math.max(firstYear, 0); year <= lastYear; year++) {
+            if (!current.isMaterialized(year, year)) {
+                years.set(year);
+            }
+        }
+
+        return years;
+    }
+
+    /**
+     * Evaluates the holiday rules for {@code years}. Rules of the adjacent years are evaluated as well, since an
+     * observed holiday may move across the turn of the year.
+     */
+    private Set<CalendarDate> generateHolidays(BitSet years) {
+        Set<CalendarDate> holidays = new HashSet<CalendarDate>();
+        for (int year = years.nextSetBit(0); year >= 0; year = years.nextSetBit(year + 1)) {
+            for (int ruleYear = Math.max(year - 1, 0); ruleYear <= year + 1; ruleYear++) {
+                for (HolidayRule rule : this.holidayRules) {
+                    CalendarDate holiday = rule.dateIn(ruleYear);
+                    if (holiday != null && holiday.getYear() == year) {
+                        holidays.add(holiday);
+                    }
+                }
+            }
+        }
+
+        return holidays;
+    }
+
+    private static int maskOf(Set<Integer> weekendDays) {
+        int mask = 0;
+        for (Integer weekendDay : weekendDays) {
+            Assert.notNull(weekendDay, "Weekend day cannot be null");
+
+            mask |= 1 << EpochDays.dayOfWeekOf(weekendDay);
+        }
+
+        return mask;
+    }
+
+    private void assertIsRange(int fromEpochDay, int toEpochDay) {
+        Assert.isTrue(fromEpochDay <= toEpochDay, "Start of the range must not be after its end");
+    }
+
+    private CalendarDate walkBusinessDays(CalendarDate from, int numberOfBusinessDays) {
+        if (numberOfBusinessDays >= 0) {
+            CalendarDate lookAhead = from;
+            while (numberOfBusinessDays != 0) {
+                lookAhead = lookAhead.nextDay();
+                if (isBusinessDay(lookAhead)) {
+                    numberOfBusinessDays--;
+                }
+            }
+
+            return lookAhead;
+        }
+        else {
+            CalendarDate lookBack = from;
+            while (numberOfBusinessDays != 0) {
+                lookBack = lookBack.previousDay();
+                if (isBusinessDay(lookBack)) {
+                    numberOfBusinessDays++;
+                }
+            }
+
+            return lookBack;
+        }
+    }
+
+    private class BusinessDayIterator implements Iterator<CalendarDate> {
+
+        private final BusinessDayIndex index;
+        private final int toEpochDay;
+        private int ordinal;
+        private int endOrdinal;
+        private CalendarDate next;
+
+        BusinessDayIterator(CalendarDate from, CalendarDate to) {
+            int fromEpochDay = from.toEpochDay();
+            this.toEpochDay = to.toEpochDay();
+
+            BusinessDayIndex candidate = index(fromEpochDay, this.toEpochDay);
+            if (candidate.coversBetween(fromEpochDay, this.toEpochDay + 1)) {
+                this.index = candidate;
+                this.ordinal = candidate.ordinal(fromEpochDay);
+                this.endOrdinal = candidate.ordinal(this.toEpochDay + 1);
+            }
+            else {
+                this.index = null;
+                this.next = isBusinessDay(from) ? from : seek(from);
+            }
+        }
+
+        public boolean hasNext() {
+            return (this.index != null) ? this.ordinal < this.endOrdinal : this.next != null;
+        }
+
+        public CalendarDate next() {
+            if (!hasNext()) { throw new NoSuchElementException(); }
+
+            if (this.index != null) { return EpochDays.toCalendarDate(this.index.businessDayAt(this.ordinal++)); }
+
+            CalendarDate result = this.next;
+            this.next = seek(result);
+
+            return result;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException("Business days cannot be removed");
+        }
+
+        private CalendarDate seek(CalendarDate after) {
+            CalendarDate day = after.nextDay();
+            while (day.toEpochDay() <= this.toEpochDay) {
+                if (isBusinessDay(day)) { return day; }
+                day = day.nextDay();
+            }
+
+            return null;
+        }
+
+    }
+
 }
@@ -0,0 +1,215 @@
+package com.concepts.domain.time;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Set;
+
+import com.concepts.domain.support.Assert;
+
+
+/**
+ * Compact binary file format for {@link BusinessCalendar}s. A file holds the weekend days, the holiday bitmap and the
+ * precomputed business day ordinals of a calendar, so that a service can start up without enumerating the holidays of
+ * hundreds of calendars and without building their indexes.
+ * <p>
+ * {@link #load(File)} maps the file read-only into memory and answers business day queries directly off the mapped
+ * buffer, only the holiday bitmap of a few KB is copied to the heap. Several JVMs loading the same file on one host
+ * thus share its pages through the operating system's page cache.
+ * <p>
+ * The file is laid out in big endian order as follows:
+ *
+ * <pre>
+ * int    magic number 0x42434C44
+ * int    format version
+ * int    first indexed year
+ * int    last indexed year
+ * int    weekend mask, bit 0 for Monday to bit 6 for Sunday
+ * int    first epoch day of the holiday bitmap
+ * int    number of holiday bitmap words (w)
+ * long[w] holiday bitmap words
+ * int    number of ordinals (o), one per indexed day plus the total number of business days
+ * int[o] ordinals
+ * int[b] epoch days of the business days, b being the last ordinal
+ * </pre>
+ *
+ * Weekends are assumed to fall on the same days every week. Holiday rules are not written, only the holidays they
+ * generate for the indexed years are. A loaded calendar therefore has no rule holidays outside its indexed years.
+ *
+ * @see BusinessCalendar
+ */
+public final class BusinessCalendarFile {
+
+    private static final int MAGIC = 0x42434C44;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 7 * 4;
+
+    private BusinessCalendarFile() {
+    }
+
+    /**
+     * Writes the current holidays and index of {@code calendar} to {@code file}, replacing its contents.
+     *
+     * @param calendar
+     *            Calendar to write.
+     * @param file
+     *            File to write to.
+     * @throws IOException
+     *             If the file cannot be written.
+     */
+    public static void write(BusinessCalendar calendar, File file) throws IOException {
+        Assert.notNull(calendar, "Calendar cannot be null");
+        Assert.notNull(file, "File cannot be null");
+
+        ByteBuffer buffer = toByteBuffer(calendar);
+        RandomAccessFile output = new RandomAccessFile(file, "rw");
+        try {
+            FileChannel channel = output.getChannel();
+            channel.truncate(0);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        finally {
+            output.close();
+        }
+    }
+
+    /**
+     * Loads the calendar held in {@code file} by mapping the file into memory.
+     *
+     * @param file
+     *            File written by {@link #write(BusinessCalendar, File)}.
+     * @return Calendar reading its business days from the mapped file.
+     * @throws IOException
+     *             If the file cannot be read.
+     */
+    public static BusinessCalendar load(File file) throws IOException {
+        Assert.notNull(file, "File cannot be null");
+
+        RandomAccessFile input = new RandomAccessFile(file, "r");
+        try {
+            return load(input.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, input.length()));
+        }
+        finally {
+            input.close();
+        }
+    }
+
+    /**
+     * Loads the calendar held in {@code buffer}, typically a mapped file. The calendar keeps reading the buffer, which
+     * therefore must not be modified afterwards.
+     *
+     * @param buffer
+     *            Contents of a file written by {@link #write(BusinessCalendar, File)}, from its position on.
+     * @return Calendar reading its business days from the buffer.
+     */
+    public static BusinessCalendar load(ByteBuffer buffer) {
+        Assert.notNull(buffer, "Buffer cannot be null");
+
+        ByteBuffer contents = buffer.slice();
+        try {
+            return read(contents);
+        }
+        catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Business calendar file is truncated");
+        }
+    }
+
+    static ByteBuffer toByteBuffer(BusinessCalendar calendar) {
+        BusinessCalendarState snapshot = calendar.snapshot();
+        BusinessDayIndex index = snapshot.getIndex();
+        HolidayBitmap holidays = snapshot.getHolidays();
+        long[] words = holidays.toWords();
+        IntBuffer ordinals = index.getOrdinals();
+        IntBuffer businessDays = index.getBusinessDays();
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + 8 * words.length + 4
+                + 4 * (ordinals.limit() + businessDays.limit()));
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(calendar.getFirstIndexedYear());
+        buffer.putInt(calendar.getLastIndexedYear());
+        buffer.putInt(BusinessCalendar.weekendMaskOf(calendar));
+        buffer.putInt(holidays.getFirstDay());
+        buffer.putInt(words.length);
+        for (long word : words) {
+            buffer.putLong(word);
+        }
+        buffer.putInt(ordinals.limit());
+        buffer.asIntBuffer().put(ordinals).put(businessDays);
+        buffer.clear();
+
+        return buffer;
+    }
+
+    private static BusinessCalendar read(ByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC) { throw new IllegalArgumentException("Not a business calendar file"); }
+
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported business calendar file version " + version);
+        }
+
+        int firstIndexedYear = buffer.getInt();
+        int lastIndexedYear = buffer.getInt();
+        if (firstIndexedYear > lastIndexedYear) {
+            throw new IllegalArgumentException("Business calendar file has indexed years " + firstIndexedYear + " - "
+                    + lastIndexedYear);
+        }
+        int weekendMask = buffer.getInt();
+        int holidaysFirstDay = buffer.getInt();
+        int numberOfWords = buffer.getInt();
+        if (numberOfWords < 0 || numberOfWords > buffer.remaining() / 8) {
+            throw new IllegalArgumentException("Business calendar file has " + numberOfWords
+                    + " holiday words but only " + buffer.remaining() + " bytes left");
+        }
+        long[] words = new long[numberOfWords];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = buffer.getLong();
+        }
+
+        int firstDay = EpochDays.of(firstIndexedYear, 1, 1);
+        int lastDay = EpochDays.of(lastIndexedYear, 12, 31);
+        int numberOfOrdinals = buffer.getInt();
+        if (numberOfOrdinals != lastDay - firstDay + 2) {
+            throw new IllegalArgumentException("Business calendar file has " + numberOfOrdinals
+                    + " ordinals for years " + firstIndexedYear + " - " + lastIndexedYear);
+        }
+
+        IntBuffer ordinals = slice(buffer, numberOfOrdinals);
+        IntBuffer businessDays = slice(buffer, ordinals.get(numberOfOrdinals - 1));
+
+        return new MappedBusinessCalendar(firstIndexedYear, lastIndexedYear, weekendMask, HolidayBitmap.of(
+                holidaysFirstDay, words), new BusinessDayIndex(firstDay, lastDay, ordinals, businessDays));
+    }
+
+    private static IntBuffer slice(ByteBuffer buffer, int numberOfInts) {
+        if (numberOfInts < 0 || buffer.remaining() < 4L * numberOfInts) { throw new BufferUnderflowException(); }
+
+        ByteBuffer slice = buffer.slice();
+        slice.limit(4 * numberOfInts);
+        buffer.position(buffer.position() + 4 * numberOfInts);
+
+        return slice.asIntBuffer();
+    }
+
+    private static final class MappedBusinessCalendar extends BusinessCalendar {
+
+        MappedBusinessCalendar(int firstIndexedYear, int lastIndexedYear, int weekendMask, HolidayBitmap holidays,
+                BusinessDayIndex index) {
+            super(firstIndexedYear, lastIndexedYear, weekendMask, holidays, index);
+        }
+
+        @Override
+        public Set<CalendarDate> setCorporateHolidays() {
+            return getHolidays().toCalendarDates();
+        }
+
+    }
+
+}
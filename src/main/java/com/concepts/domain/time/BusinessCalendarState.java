@@ -0,0 +1,99 @@
+package com.concepts.domain.time;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+
+/**
+ * Immutable snapshot of the holidays of a {@link BusinessCalendar} together with the business day index and the month
+ * table derived from them. A calendar publishes a new snapshot atomically on every holiday change, so readers always
+ * see holidays and index that belong together.
+ * <p>
+ * The snapshot also records the years for which the holiday rules of the calendar have been evaluated into its
+ * holidays.
+ *
+ * @see BusinessCalendar
+ */
+final class BusinessCalendarState {
+
+    private final HolidayBitmap holidays;
+    private final BitSet materializedYears;
+    private final BusinessDayIndex index;
+    private final MonthTable months;
+
+    BusinessCalendarState(HolidayBitmap holidays, BusinessDayIndex index) {
+        this(holidays, new BitSet(), index, null);
+    }
+
+    private BusinessCalendarState(HolidayBitmap holidays, BitSet materializedYears, BusinessDayIndex index,
+            MonthTable months) {
+        this.holidays = holidays;
+        this.materializedYears = materializedYears;
+        this.index = index;
+        this.months = months;
+    }
+
+    HolidayBitmap getHolidays() {
+        return this.holidays;
+    }
+
+    /**
+     * Returns the business day index, or {@code null} if it has not been built for these holidays yet.
+     */
+    BusinessDayIndex getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Returns the month table, or {@code null} if it has not been built for these holidays yet.
+     */
+    MonthTable getMonths() {
+        return this.months;
+    }
+
+    /**
+     * Returns whether the holiday rules have been applied to all years from {@code firstYear} to {@code lastYear}.
+     */
+    boolean isMaterialized(int firstYear, int lastYear) {
+        return this.materializedYears.nextClearBit(firstYear) > lastYear;
+    }
+
+    BusinessCalendarState withIndex(BusinessDayIndex newIndex) {
+        return new BusinessCalendarState(this.holidays, this.materializedYears, newIndex, this.months);
+    }
+
+    BusinessCalendarState withMonths(MonthTable newMonths) {
+        return new BusinessCalendarState(this.holidays, this.materializedYears, this.index, newMonths);
+    }
+
+    BusinessCalendarState withHolidays(BusinessCalendar calendar, Set<CalendarDate> added, Set<CalendarDate> removed) {
+        HolidayBitmap newHolidays = this.holidays.without(removed).with(added);
+        if (this.index == null) { return new BusinessCalendarState(newHolidays, this.materializedYears, null, null); }
+
+        Set<CalendarDate> changed = new HashSet<CalendarDate>(added);
+        changed.addAll(removed);
+
+        return new BusinessCalendarState(newHolidays, this.materializedYears, this.index.withUpdatedDays(calendar,
+                newHolidays, changed), null);
+    }
+
+    /**
+     * Adds the holidays generated by the holiday rules for {@code years}, marking those years as materialized.
+     */
+    BusinessCalendarState withMaterializedYears(BusinessCalendar calendar, BitSet years, Set<CalendarDate> generated) {
+        BitSet newMaterializedYears = (BitSet) this.materializedYears.clone();
+        newMaterializedYears.or(years);
+        if (generated.isEmpty()) {
+            return new BusinessCalendarState(this.holidays, newMaterializedYears, this.index, this.months);
+        }
+
+        HolidayBitmap newHolidays = this.holidays.with(generated);
+        BusinessDayIndex newIndex = (this.index == null) ? null : this.index.withUpdatedDays(calendar, newHolidays,
+                generated);
+
+        return new BusinessCalendarState(newHolidays, newMaterializedYears, newIndex, (newIndex == this.index)
+                ? this.months : null);
+    }
+
+}
@@ -0,0 +1,204 @@
+package com.concepts.domain.time;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Set;
+
+
+/**
+ * Precomputed business day ordinals of a {@link BusinessCalendar} over a fixed range of epoch days. For every day in
+ * the range the index records the ordinal of the first business day on or after it, and for every ordinal the epoch day
+ * of that business day. Business day offsets within the range thus become array lookups. As the ordinal of a day is
+ * also the number of business days before it, the ordinals double as a prefix sum for counting business days.
+ * <p>
+ * A day is a business day when it is neither a weekend of the calendar nor contained in the holidays the index is built
+ * for. The index is immutable. When holidays change the owning calendar derives a new index from the old one by
+ * re-evaluating only the changed days.
+ * <p>
+ * Ordinals and business days are held in {@link IntBuffer}s, either wrapping arrays built on the heap or viewing a
+ * memory mapped {@link BusinessCalendarFile}.
+ *
+ * @see BusinessCalendar
+ */
+final class BusinessDayIndex {
+
+    private final int firstDay;
+    private final int lastDay;
+    private final IntBuffer ordinals;
+    private final IntBuffer businessDays;
+    private final int numberOfBusinessDays;
+
+    static BusinessDayIndex build(BusinessCalendar calendar, HolidayBitmap holidays, int firstYear, int lastYear) {
+        int firstDay = EpochDays.of(firstYear, 1, 1);
+        int lastDay = EpochDays.of(lastYear, 12, 31);
+
+        int numberOfDays = lastDay - firstDay + 1;
+        int[] ordinals = new int[numberOfDays + 1];
+        int[] businessDays = new int[numberOfDays];
+        int count = 0;
+        for (int i = 0; i < numberOfDays; i++) {
+            ordinals[i] = count;
+            if (isBusinessDay(calendar, holidays, firstDay + i, EpochDays.toCalendarDate(firstDay + i))) {
+                businessDays[count++] = firstDay + i;
+            }
+        }
+        ordinals[numberOfDays] = count;
+
+        int[] trimmed = new int[count];
+        System.arraycopy(businessDays, 0, trimmed, 0, count);
+
+        return new BusinessDayIndex(firstDay, lastDay, IntBuffer.wrap(ordinals), IntBuffer.wrap(trimmed));
+    }
+
+    /**
+     * Creates an index over existing buffers, {@code ordinals} holding one entry per day from {@code firstDay} to
+     * {@code lastDay} plus the total, and {@code businessDays} holding the epoch day of every ordinal.
+     */
+    BusinessDayIndex(int firstDay, int lastDay, IntBuffer ordinals, IntBuffer businessDays) {
+        this.firstDay = firstDay;
+        this.lastDay = lastDay;
+        this.ordinals = ordinals;
+        this.businessDays = businessDays;
+        this.numberOfBusinessDays = businessDays.limit();
+    }
+
+    int getFirstDay() {
+        return this.firstDay;
+    }
+
+    int getLastDay() {
+        return this.lastDay;
+    }
+
+    /**
+     * Returns a read-only view of the ordinals, one per covered day followed by the number of business days.
+     */
+    IntBuffer getOrdinals() {
+        return this.ordinals.asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns a read-only view of the business days, one epoch day per ordinal.
+     */
+    IntBuffer getBusinessDays() {
+        return this.businessDays.asReadOnlyBuffer();
+    }
+
+    boolean covers(int epochDay) {
+        return epochDay >= this.firstDay && epochDay <= this.lastDay;
+    }
+
+    boolean coversBetween(int fromEpochDay, int toEpochDay) {
+        return fromEpochDay >= this.firstDay && toEpochDay <= this.lastDay + 1;
+    }
+
+    boolean isBusinessDay(int epochDay) {
+        int ordinal = this.ordinals.get(epochDay - this.firstDay);
+
+        return ordinal < this.numberOfBusinessDays && this.businessDays.get(ordinal) == epochDay;
+    }
+
+    /**
+     * Returns the epoch day lying {@code numberOfBusinessDays} business days away from {@code epochDay}, or
+     * {@link Integer#MIN_VALUE} if the result falls outside the index. The day itself must be covered by the index.
+     */
+    int plusBusinessDays(int epochDay, int numberOfBusinessDays) {
+        int ordinal = this.ordinals.get(epochDay - this.firstDay);
+        if (numberOfBusinessDays > 0 && isBusinessDay(epochDay)) {
+            ordinal++;
+        }
+
+        long target = (long) ordinal + numberOfBusinessDays - (numberOfBusinessDays > 0 ? 1 : 0);
+        if (numberOfBusinessDays == 0 || target < 0 || target >= this.numberOfBusinessDays) {
+            return Integer.MIN_VALUE;
+        }
+
+        return this.businessDays.get((int) target);
+    }
+
+    /**
+     * Returns the ordinal of the first business day on or after {@code epochDay}, which may lie one day past the index.
+     */
+    int ordinal(int epochDay) {
+        return this.ordinals.get(epochDay - this.firstDay);
+    }
+
+    int businessDayAt(int ordinal) {
+        return this.businessDays.get(ordinal);
+    }
+
+    /**
+     * Counts the business days from {@code fromEpochDay} inclusive to {@code toEpochDay} exclusive, both of which must
+     * be within {@link #coversBetween(int, int)}.
+     */
+    int countBusinessDays(int fromEpochDay, int toEpochDay) {
+        return this.ordinals.get(toEpochDay - this.firstDay) - this.ordinals.get(fromEpochDay - this.firstDay);
+    }
+
+    /**
+     * Derives the index for {@code holidays} after the business day status of {@code days} may have changed. Only those
+     * days are re-evaluated, the ordinals before the earliest changed day are copied unchanged.
+     */
+    BusinessDayIndex withUpdatedDays(BusinessCalendar calendar, HolidayBitmap holidays, Set<CalendarDate> days) {
+        int[] changed = new int[days.size()];
+        int numberOfChanges = 0;
+        for (CalendarDate day : days) {
+            int epochDay = day.toEpochDay();
+            if (covers(epochDay) && isBusinessDay(epochDay) != isBusinessDay(calendar, holidays, epochDay, day)) {
+                changed[numberOfChanges++] = epochDay;
+            }
+        }
+
+        if (numberOfChanges == 0) { return this; }
+
+        Arrays.sort(changed, 0, numberOfChanges);
+
+        int[] newOrdinals = toArray(this.ordinals);
+        int delta = 0;
+        int next = 0;
+        for (int i = changed[0] - this.firstDay; i < newOrdinals.length; i++) {
+            while (next < numberOfChanges && changed[next] - this.firstDay < i) {
+                delta += isBusinessDay(changed[next]) ? -1 : 1;
+                next++;
+            }
+            newOrdinals[i] += delta;
+        }
+
+        int[] businessDays = toArray(this.businessDays);
+        int[] newBusinessDays = new int[newOrdinals[newOrdinals.length - 1]];
+        int count = 0;
+        next = 0;
+        for (int i = 0; i < businessDays.length || next < numberOfChanges;) {
+            boolean takeChange = next < numberOfChanges
+                    && (i == businessDays.length || changed[next] <= businessDays[i]);
+            if (!takeChange) {
+                newBusinessDays[count++] = businessDays[i++];
+            }
+            else if (i < businessDays.length && changed[next] == businessDays[i]) {
+                i++;
+                next++;
+            }
+            else {
+                newBusinessDays[count++] = changed[next++];
+            }
+        }
+
+        return new BusinessDayIndex(this.firstDay, this.lastDay, IntBuffer.wrap(newOrdinals),
+                IntBuffer.wrap(newBusinessDays));
+    }
+
+    private static int[] toArray(IntBuffer buffer) {
+        int[] array = new int[buffer.limit()];
+        IntBuffer source = buffer.duplicate();
+        source.rewind();
+        source.get(array);
+
+        return array;
+    }
+
+    private static boolean isBusinessDay(BusinessCalendar calendar, HolidayBitmap holidays, int epochDay,
+            CalendarDate day) {
+        return !holidays.contains(epochDay) && !calendar.isWeekend(day);
+    }
+
+}
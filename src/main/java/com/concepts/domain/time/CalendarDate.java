@@ -1,11 +1,16 @@
 package com.concepts.domain.time;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
-import java.text.DateFormat;
-import java.text.ParsePosition;
-import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.concepts.domain.support.Assert;
 
 
 /**
@@ -13,6 +18,16 @@ import java.util.Date;
  * time (hours, minutes, seconds) is of no significance may use this class. The months start from 1 (January = 1,
  * February = 2, March = 3 and so on)
  * <p>
+ * Date arithmetic and comparisons are computed on the proleptic Gregorian calendar from epoch day numbers, without
+ * {@link Calendar} instances and independent of the default time zone. For dates from 1583 on the results are those of
+ * {@link java.util.GregorianCalendar}, which switches to the Julian calendar before October 1582.
+ * <p>
+ * A date is packed into a single {@code int} as {@code yyyymmdd}, see {@link #asPackedInt()}, so that equality, hash
+ * code and ordering are single int operations. Dates of the cached years are interned: {@link #from(int, int, int)}
+ * returns one shared instance per day instead of allocating. The cached years default to
+ * {@value #DEFAULT_FIRST_CACHED_YEAR} - {@value #DEFAULT_LAST_CACHED_YEAR} and can be configured with the system
+ * properties {@value #FIRST_CACHED_YEAR_PROPERTY} and {@value #LAST_CACHED_YEAR_PROPERTY}.
+ * <p>
  * Reference: Time and Money in Domain Model - Eric Evans.
  * 
  * @author ishitarakshit
@@ -23,12 +38,61 @@ public class CalendarDate implements Comparable<CalendarDate>, Serializable {
 
     private static final long serialVersionUID = -8748238650853571108L;
 
-    private int year;
-    private int month;
-    private int day;
+    /**
+     * Serialized form of earlier versions, which kept year, month and day in separate fields.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = { new ObjectStreamField("year", int.class),
+            new ObjectStreamField("month", int.class), new ObjectStreamField("day", int.class) };
+
+    public static final int DEFAULT_FIRST_CACHED_YEAR = 1950;
+    public static final int DEFAULT_LAST_CACHED_YEAR = 2100;
+    public static final String FIRST_CACHED_YEAR_PROPERTY = "com.concepts.domain.time.CalendarDate.firstCachedYear";
+    public static final String LAST_CACHED_YEAR_PROPERTY = "com.concepts.domain.time.CalendarDate.lastCachedYear";
+
+    static final int MAX_YEAR = Integer.MAX_VALUE / 10000 - 1;
+    private static final int FIRST_CACHED_YEAR = Integer.getInteger(FIRST_CACHED_YEAR_PROPERTY,
+            DEFAULT_FIRST_CACHED_YEAR);
+    private static final int LAST_CACHED_YEAR = Integer.getInteger(LAST_CACHED_YEAR_PROPERTY, DEFAULT_LAST_CACHED_YEAR);
+    private static final int FIRST_CACHED_DAY;
+    private static final AtomicReferenceArray<CalendarDate> CACHE;
+
+    static {
+        Assert.isTrue(FIRST_CACHED_YEAR >= 0 && FIRST_CACHED_YEAR <= LAST_CACHED_YEAR && LAST_CACHED_YEAR <= MAX_YEAR,
+                "Cached years " + FIRST_CACHED_YEAR + " - " + LAST_CACHED_YEAR + " are not a valid range of years");
+
+        FIRST_CACHED_DAY = EpochDays.of(FIRST_CACHED_YEAR, 1, 1);
+        CACHE = new AtomicReferenceArray<CalendarDate>(EpochDays.of(LAST_CACHED_YEAR, 12, 31) - FIRST_CACHED_DAY + 1);
+    }
 
+    private static final DatePattern TO_STRING_PATTERN = DatePattern.compile("dd-MMM-yyyy");
+
+    private int packed;
+
+    /**
+     * Returns the date, sharing one instance per day for the cached years.
+     */
     public static CalendarDate from(int year, int month, int date) {
-        return new CalendarDate(year, month, date);
+        if (!isCached(year, month, date)) { return new CalendarDate(year, month, date); }
+
+        int index = EpochDays.of(year, month, date) - FIRST_CACHED_DAY;
+        CalendarDate cached = CACHE.get(index);
+        if (cached == null) {
+            CACHE.compareAndSet(index, null, new CalendarDate(year, month, date));
+            cached = CACHE.get(index);
+        }
+
+        return cached;
+    }
+
+    /**
+     * Returns the date packed as {@code yyyymmdd} by {@link #asPackedInt()}.
+     * 
+     * @param yyyymmdd
+     *            Packed date.
+     * @return Date for {@code yyyymmdd}.
+     */
+    public static CalendarDate fromPackedInt(int yyyymmdd) {
+        return from(yyyymmdd / 10000, yyyymmdd / 100 % 100, yyyymmdd % 100);
     }
 
     public static CalendarDate from(Calendar javaCalendar) {
@@ -40,7 +104,22 @@ public class CalendarDate implements Comparable<CalendarDate>, Serializable {
     }
 
     public static CalendarDate from(TimePoint timepoint) {
-        return from(timepoint.asJavaCalendar());
+        return from(timepoint, TimeZone.getDefault());
+    }
+
+    /**
+     * Returns the date of {@code timepoint} in {@code zone}. From 1900 to 2100 the date is computed with the cached
+     * offset transitions of the zone instead of a {@link Calendar}.
+     */
+    public static CalendarDate from(TimePoint timepoint, TimeZone zone) {
+        Assert.notNull(zone, "Time zone cannot be null");
+
+        long local = ZoneOffsetTable.of(zone).toLocal(timepoint.getMillisecondsFromEpoc());
+        if (ZoneOffsetTable.covers(local)) {
+            return EpochDays.toCalendarDate((int) Math.floorDiv(local, TimeUnitConversionFactors.MILLISECONDS_PER_DAY));
+        }
+
+        return from(timepoint.asJavaCalendar(zone));
     }
 
     public static CalendarDate from(Date javaDate) {
@@ -50,46 +129,87 @@ public class CalendarDate implements Comparable<CalendarDate>, Serializable {
         return from(calendar);
     }
 
+    /**
+     * Parses {@code dateString} with a {@link DatePattern} compiled from {@code pattern}.
+     *
+     * @throws IllegalArgumentException
+     *             If the text does not match the pattern or is no valid date.
+     */
     public static CalendarDate from(String dateString, String pattern) {
-        DateFormat format = new SimpleDateFormat(pattern);
-        Date date = format.parse(dateString, new ParsePosition(0));
-
-        return from(date);
+        return DatePattern.compile(pattern).parseDate(dateString);
     }
 
     CalendarDate(int year, int month, int date) {
-        this.year = year;
-        this.month = month;
-        this.day = date;
+        validateState(year, month, date);
 
-        validateState();
+        this.packed = pack(year, month, date);
     }
 
     public Calendar asJavaCalendar() {
-        TimePoint day = TimePoint.atMidnight(this.year, this.month, this.day);
+        TimePoint day = TimePoint.atMidnight(getYear(), getMonth(), getDay());
 
         return day.asJavaCalendar();
     }
 
     public Date asJavaDate() {
-        return this.asJavaCalendar().getTime();
+        return TimePoint.atMidnight(getYear(), getMonth(), getDay()).asJavaDate();
+    }
+
+    /**
+     * Returns the date packed into a single {@code int} as {@code yyyymmdd}, such as 20111225 for the 25th of December
+     * 2011. Packed dates sort in the order of the dates they stand for.
+     * 
+     * @return Packed date.
+     */
+    public int asPackedInt() {
+        return this.packed;
+    }
+
+    int getYear() {
+        return this.packed / 10000;
+    }
+
+    int getMonth() {
+        return this.packed / 100 % 100;
+    }
+
+    int getDay() {
+        return this.packed % 100;
+    }
+
+    int toEpochDay() {
+        return EpochDays.of(getYear(), getMonth(), getDay());
+    }
+
+    /**
+     * Returns whether the day exists in its month. Lenient dates such as February 31st do not, their epoch day is that
+     * of a day in the following month.
+     */
+    boolean exists() {
+        return getDay() <= EpochDays.lengthOfMonth(getYear(), getMonth());
     }
 
     public boolean isBefore(CalendarDate other) {
         if (other == null) { return false; }
 
-        if (this.year < other.year) { return true; }
-        if (this.year > other.year) { return false; }
-        if (this.month < other.month) { return true; }
-        if (this.month > other.month) { return false; }
-
-        return this.day < other.day;
+        return compareTo(other) < 0;
     }
 
     public boolean isAfter(CalendarDate other) {
         if (other == null) { return false; }
 
-        return !isBefore(other) && !this.equals(other);
+        return compareTo(other) > 0;
+    }
+
+    /**
+     * Returns the number of days from this date to {@code other}, negative if {@code other} is before this date.
+     * 
+     * @param other
+     *            Date to count the days to.
+     * @return Number of days between both dates.
+     */
+    public int daysUntil(CalendarDate other) {
+        return other.toEpochDay() - toEpochDay();
     }
 
     public CalendarDate nextDay() {
@@ -101,31 +221,30 @@ public class CalendarDate implements Comparable<CalendarDate>, Serializable {
     }
 
     public CalendarDate plusDays(int increment) {
-        Calendar calendar = this.asJavaCalendar();
-        calendar.add(Calendar.DATE, increment);
-
-        return from(calendar);
+        return EpochDays.toCalendarDate(toEpochDay() + increment);
     }
 
+    /**
+     * Adds months, moving the day back to the last day of the resulting month if that month is shorter.
+     */
     public CalendarDate plusMonths(int increment) {
-        Calendar calendar = this.asJavaCalendar();
-        calendar.add(Calendar.MONTH, increment);
+        CalendarDate date = normalized();
+        long months = date.getYear() * 12L + date.getMonth() - 1 + increment;
+        int newYear = (int) ((months >= 0) ? months / 12 : (months - 11) / 12);
+        int newMonth = (int) (months - newYear * 12L) + 1;
 
-        return from(calendar);
+        return from(newYear, newMonth, Math.min(date.getDay(), EpochDays.lengthOfMonth(newYear, newMonth)));
     }
 
+    /**
+     * Adds years, moving the 29th of February back to the 28th if the resulting year is no leap year.
+     */
     public CalendarDate plusYears(int increment) {
-        Calendar calendar = this.asJavaCalendar();
-        calendar.add(Calendar.YEAR, increment);
-
-        return from(calendar);
+        return plusMonths(12 * increment);
     }
 
     public int compareTo(CalendarDate other) {
-        if (isBefore(other)) { return -1; }
-        if (isAfter(other)) { return 1; }
-
-        return 0;
+        return (this.packed < other.packed) ? -1 : ((this.packed == other.packed) ? 0 : 1);
     }
 
     @Override
@@ -136,34 +255,73 @@ public class CalendarDate implements Comparable<CalendarDate>, Serializable {
 
         CalendarDate other = (CalendarDate) object;
 
-        return this.year == other.year && this.month == other.month && this.day == other.day;
+        return this.packed == other.packed;
     }
 
     @Override
     public int hashCode() {
-        int result = 17;
-        result = 37 * result + this.year;
-        result = 37 * result + this.month;
-        result = 37 * result + this.day;
-
-        return result;
+        return this.packed;
     }
 
     @Override
     public String toString() {
-        return new SimpleDateFormat("dd-MMM-yyyy").format(this.asJavaDate());
+        return TO_STRING_PATTERN.format(this);
     }
 
-    private void validateState() {
-        if (this.day < 1 || this.day > 31) {
+    /**
+     * Returns the date itself, or the date it stands for if its day exceeds the length of its month, such as the 3rd of
+     * March for the 31st of February in a non leap year.
+     */
+    CalendarDate normalized() {
+        if (getDay() <= EpochDays.lengthOfMonth(getYear(), getMonth())) { return this; }
+
+        return EpochDays.toCalendarDate(toEpochDay());
+    }
+
+    private void writeObject(ObjectOutputStream output) throws IOException {
+        ObjectOutputStream.PutField fields = output.putFields();
+        fields.put("year", getYear());
+        fields.put("month", getMonth());
+        fields.put("day", getDay());
+        output.writeFields();
+    }
+
+    private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = input.readFields();
+        int year = fields.get("year", 0);
+        int month = fields.get("month", 0);
+        int day = fields.get("day", 0);
+        validateState(year, month, day);
+
+        this.packed = pack(year, month, day);
+    }
+
+    private Object readResolve() {
+        return isCached(getYear(), getMonth(), getDay()) ? from(getYear(), getMonth(), getDay()) : this;
+    }
+
+    private static boolean isCached(int year, int month, int day) {
+        return year >= FIRST_CACHED_YEAR && year <= LAST_CACHED_YEAR && month >= 1 && month <= 12 && day >= 1
+                && day <= EpochDays.lengthOfMonth(year, month);
+    }
+
+    private static int pack(int year, int month, int day) {
+        return year * 10000 + month * 100 + day;
+    }
+
+    private static void validateState(int year, int month, int day) {
+        if (day < 1 || day > 31) {
             throw new IllegalArgumentException("Day of the month must be between 1 and 31");
         }
-        else if (this.month < 1 || this.month > 12) {
+        else if (month < 1 || month > 12) {
             throw new IllegalArgumentException("Month of the year must be between 1 and 12");
         }
-        else if (this.year < 0) { 
+        else if (year < 0) { 
             throw new IllegalArgumentException("Year must be positive integer"); 
         }
+        else if (year > MAX_YEAR) {
+            throw new IllegalArgumentException("Year must not be after " + MAX_YEAR);
+        }
     }
 
 }
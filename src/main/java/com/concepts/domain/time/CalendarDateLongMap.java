@@ -0,0 +1,244 @@
+package com.concepts.domain.time;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import com.concepts.domain.support.Assert;
+
+
+/**
+ * Immutable, sorted map from {@link CalendarDate}s to {@code long} values, such as cash flows in minor units, kept as
+ * an ascending array of epoch days and a parallel array of values. An entry takes twelve bytes and no objects, lookups
+ * are binary searches and range views share the arrays of the map they are taken from.
+ * <p>
+ * Entries are read by position with {@link #keyAt(int)} and {@link #valueAt(int)}, so a map can be traversed without
+ * creating entry objects. Maps are built with a {@link Builder}, in linear time for keys put in ascending order.
+ * Lenient dates such as February 31st are rejected as keys.
+ *
+ * @see CalendarDateMap
+ * @see CalendarDateSet
+ */
+public final class CalendarDateLongMap {
+
+    private final int[] days;
+    private final long[] values;
+    private final int from;
+    private final int to;
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private CalendarDateLongMap(int[] days, long[] values, int from, int to) {
+        this.days = days;
+        this.values = values;
+        this.from = from;
+        this.to = to;
+    }
+
+    public int size() {
+        return this.to - this.from;
+    }
+
+    public boolean isEmpty() {
+        return this.to == this.from;
+    }
+
+    public boolean containsKey(CalendarDate date) {
+        return indexOf(date) >= 0;
+    }
+
+    /**
+     * Returns the value of {@code date}, or {@code defaultValue} if the map has no value for it.
+     */
+    public long get(CalendarDate date, long defaultValue) {
+        int index = indexOf(date);
+
+        return (index >= 0) ? this.values[index] : defaultValue;
+    }
+
+    /**
+     * Returns the value of the latest key on or before {@code date}, or {@code defaultValue} if there is none. This is
+     * the value in force on {@code date} for values that stay valid until the next key, such as rates.
+     */
+    public long floorValue(CalendarDate date, long defaultValue) {
+        int index = EpochDayArrays.higherIndex(this.days, this.from, this.to, date.toEpochDay()) - 1;
+
+        return (index >= this.from) ? this.values[index] : defaultValue;
+    }
+
+    /**
+     * Returns the latest key on or before {@code date}, or {@code null} if there is none.
+     */
+    public CalendarDate floorKey(CalendarDate date) {
+        return keyOrNull(EpochDayArrays.higherIndex(this.days, this.from, this.to, date.toEpochDay()) - 1);
+    }
+
+    /**
+     * Returns the earliest key on or after {@code date}, or {@code null} if there is none.
+     */
+    public CalendarDate ceilingKey(CalendarDate date) {
+        return keyOrNull(EpochDayArrays.ceilingIndex(this.days, this.from, this.to, date.toEpochDay()));
+    }
+
+    /**
+     * Returns the key at {@code position}, from 0 for the earliest key to {@code size() - 1} for the latest.
+     */
+    public CalendarDate keyAt(int position) {
+        return EpochDays.toCalendarDate(this.days[indexAt(position)]);
+    }
+
+    /**
+     * Returns the value at {@code position}, from 0 for the earliest key to {@code size() - 1} for the latest.
+     */
+    public long valueAt(int position) {
+        return this.values[indexAt(position)];
+    }
+
+    /**
+     * Returns the sum of all values.
+     */
+    public long sum() {
+        long sum = 0;
+        for (int i = this.from; i < this.to; i++) {
+            sum += this.values[i];
+        }
+
+        return sum;
+    }
+
+    /**
+     * Returns a view of the keys, sharing the key array of this map.
+     */
+    public CalendarDateSet keySet() {
+        return new CalendarDateSet(this.days, this.from, this.to);
+    }
+
+    /**
+     * Returns a view of the entries with keys from {@code fromInclusive} to {@code toExclusive}.
+     */
+    public CalendarDateLongMap subMap(CalendarDate fromInclusive, CalendarDate toExclusive) {
+        Assert.isTrue(!toExclusive.isBefore(fromInclusive), "End of the submap must not be before its start");
+
+        return slice(fromInclusive.toEpochDay(), toExclusive.toEpochDay());
+    }
+
+    /**
+     * Returns a view of the entries with keys before {@code toExclusive}.
+     */
+    public CalendarDateLongMap headMap(CalendarDate toExclusive) {
+        return slice(Integer.MIN_VALUE, toExclusive.toEpochDay());
+    }
+
+    /**
+     * Returns a view of the entries with keys on or after {@code fromInclusive}.
+     */
+    public CalendarDateLongMap tailMap(CalendarDate fromInclusive) {
+        return slice(fromInclusive.toEpochDay(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (object == null) { return false; }
+        if (this == object) { return true; }
+        if (!(object instanceof CalendarDateLongMap)) { return false; }
+
+        CalendarDateLongMap other = (CalendarDateLongMap) object;
+        if (size() != other.size()) { return false; }
+        for (int i = 0; i < size(); i++) {
+            if (this.days[this.from + i] != other.days[other.from + i]) { return false; }
+            if (this.values[this.from + i] != other.values[other.from + i]) { return false; }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 17;
+        for (int i = this.from; i < this.to; i++) {
+            result = 37 * result + this.days[i];
+            result = 37 * result + (int) (this.values[i] ^ (this.values[i] >>> 32));
+        }
+
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("{");
+        for (int i = this.from; i < this.to; i++) {
+            if (i > this.from) {
+                text.append(", ");
+            }
+            text.append(EpochDays.toCalendarDate(this.days[i])).append('=').append(this.values[i]);
+        }
+
+        return text.append('}').toString();
+    }
+
+    private int indexOf(CalendarDate date) {
+        if (!date.exists()) { return -1; }
+
+        return EpochDayArrays.indexOf(this.days, this.from, this.to, date.toEpochDay());
+    }
+
+    private int indexAt(int position) {
+        if (position < 0 || position >= size()) {
+            throw new NoSuchElementException("No entry at position " + position + " of " + size());
+        }
+
+        return this.from + position;
+    }
+
+    private CalendarDate keyOrNull(int index) {
+        return (index >= this.from && index < this.to) ? EpochDays.toCalendarDate(this.days[index]) : null;
+    }
+
+    private CalendarDateLongMap slice(int firstDay, int endDay) {
+        int newFrom = EpochDayArrays.ceilingIndex(this.days, this.from, this.to, firstDay);
+        int newTo = EpochDayArrays.ceilingIndex(this.days, newFrom, this.to, endDay);
+
+        return new CalendarDateLongMap(this.days, this.values, newFrom, newTo);
+    }
+
+    /**
+     * Collects entries for a {@link CalendarDateLongMap}. Of several values put for the same date the last one is
+     * kept.
+     */
+    public static final class Builder {
+
+        private int[] days = new int[16];
+        private long[] values = new long[16];
+        private int size;
+
+        Builder() {
+        }
+
+        public Builder put(CalendarDate date, long value) {
+            Assert.notNull(date, "Date cannot be null");
+
+            if (this.size == this.days.length) {
+                this.days = Arrays.copyOf(this.days, this.size * 2);
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+            this.days[this.size] = EpochDayArrays.keyOf(date);
+            this.values[this.size++] = value;
+
+            return this;
+        }
+
+        public CalendarDateLongMap build() {
+            int[] order = EpochDayArrays.ascendingOrder(this.days, this.size);
+            long[] sortedValues = new long[order.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedValues[i] = this.values[order[i]];
+            }
+
+            return new CalendarDateLongMap(EpochDayArrays.toEpochDays(this.days, order), sortedValues, 0,
+                    order.length);
+        }
+
+    }
+
+}
@@ -0,0 +1,283 @@
+package com.concepts.domain.time;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.concepts.domain.support.Assert;
+
+
+/**
+ * Immutable, sorted map from {@link CalendarDate}s to values, kept as an ascending array of epoch days and a parallel
+ * array of values instead of the nodes of a {@link java.util.TreeMap}. Lookups are binary searches, the floor,
+ * ceiling, lower and higher lookups find the entries around a date, and range views share the arrays of the map they
+ * are taken from. The map is a {@link Map} but not a {@link java.util.NavigableMap}.
+ * <p>
+ * Maps are built with a {@link Builder}, in linear time for keys put in ascending order. Lenient dates such as
+ * February 31st are rejected as keys.
+ *
+ * @param <V>
+ *            Type of the values.
+ * @see CalendarDateLongMap
+ * @see CalendarDateSet
+ */
+public final class CalendarDateMap<V> extends AbstractMap<CalendarDate, V> {
+
+    private final int[] days;
+    private final Object[] values;
+    private final int from;
+    private final int to;
+
+    public static <V> Builder<V> builder() {
+        return new Builder<V>();
+    }
+
+    private CalendarDateMap(int[] days, Object[] values, int from, int to) {
+        this.days = days;
+        this.values = values;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public int size() {
+        return this.to - this.from;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public V get(Object key) {
+        int index = indexOf(key);
+
+        return (index >= 0) ? valueAt(index) : null;
+    }
+
+    public CalendarDate firstKey() {
+        if (isEmpty()) { throw new NoSuchElementException("Map is empty"); }
+
+        return EpochDays.toCalendarDate(this.days[this.from]);
+    }
+
+    public CalendarDate lastKey() {
+        if (isEmpty()) { throw new NoSuchElementException("Map is empty"); }
+
+        return EpochDays.toCalendarDate(this.days[this.to - 1]);
+    }
+
+    /**
+     * Returns the latest key on or before {@code date}, or {@code null} if there is none.
+     */
+    public CalendarDate floorKey(CalendarDate date) {
+        return keyOrNull(floorIndex(date));
+    }
+
+    /**
+     * Returns the value of the latest key on or before {@code date}, or {@code null} if there is none.
+     */
+    public V floorValue(CalendarDate date) {
+        return valueOrNull(floorIndex(date));
+    }
+
+    public Map.Entry<CalendarDate, V> floorEntry(CalendarDate date) {
+        return entryOrNull(floorIndex(date));
+    }
+
+    /**
+     * Returns the earliest key on or after {@code date}, or {@code null} if there is none.
+     */
+    public CalendarDate ceilingKey(CalendarDate date) {
+        return keyOrNull(ceilingIndex(date));
+    }
+
+    /**
+     * Returns the value of the earliest key on or after {@code date}, or {@code null} if there is none.
+     */
+    public V ceilingValue(CalendarDate date) {
+        return valueOrNull(ceilingIndex(date));
+    }
+
+    public Map.Entry<CalendarDate, V> ceilingEntry(CalendarDate date) {
+        return entryOrNull(ceilingIndex(date));
+    }
+
+    /**
+     * Returns the latest key before {@code date}, or {@code null} if there is none.
+     */
+    public CalendarDate lowerKey(CalendarDate date) {
+        return keyOrNull(ceilingIndex(date) - 1);
+    }
+
+    /**
+     * Returns the earliest key after {@code date}, or {@code null} if there is none.
+     */
+    public CalendarDate higherKey(CalendarDate date) {
+        return keyOrNull(floorIndex(date) + 1);
+    }
+
+    /**
+     * Returns a view of the keys, sharing the key array of this map.
+     */
+    @Override
+    public CalendarDateSet keySet() {
+        return new CalendarDateSet(this.days, this.from, this.to);
+    }
+
+    @Override
+    public Set<Map.Entry<CalendarDate, V>> entrySet() {
+        return new AbstractSet<Map.Entry<CalendarDate, V>>() {
+
+            @Override
+            public int size() {
+                return CalendarDateMap.this.size();
+            }
+
+            @Override
+            public Iterator<Map.Entry<CalendarDate, V>> iterator() {
+                return new Iterator<Map.Entry<CalendarDate, V>>() {
+
+                    private int index = CalendarDateMap.this.from;
+
+                    public boolean hasNext() {
+                        return this.index < CalendarDateMap.this.to;
+                    }
+
+                    public Map.Entry<CalendarDate, V> next() {
+                        if (!hasNext()) { throw new NoSuchElementException(); }
+
+                        return entryOrNull(this.index++);
+                    }
+
+                    public void remove() {
+                        throw new UnsupportedOperationException("Calendar date maps are immutable");
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Returns a view of the entries with keys from {@code fromInclusive} to {@code toExclusive}.
+     */
+    public CalendarDateMap<V> subMap(CalendarDate fromInclusive, CalendarDate toExclusive) {
+        Assert.isTrue(!toExclusive.isBefore(fromInclusive), "End of the submap must not be before its start");
+
+        return slice(fromInclusive.toEpochDay(), toExclusive.toEpochDay());
+    }
+
+    /**
+     * Returns a view of the entries with keys before {@code toExclusive}.
+     */
+    public CalendarDateMap<V> headMap(CalendarDate toExclusive) {
+        return slice(Integer.MIN_VALUE, toExclusive.toEpochDay());
+    }
+
+    /**
+     * Returns a view of the entries with keys on or after {@code fromInclusive}.
+     */
+    public CalendarDateMap<V> tailMap(CalendarDate fromInclusive) {
+        return slice(fromInclusive.toEpochDay(), Integer.MAX_VALUE);
+    }
+
+    private int indexOf(Object key) {
+        if (!(key instanceof CalendarDate) || !((CalendarDate) key).exists()) { return -1; }
+
+        return EpochDayArrays.indexOf(this.days, this.from, this.to, ((CalendarDate) key).toEpochDay());
+    }
+
+    private int floorIndex(CalendarDate date) {
+        return EpochDayArrays.higherIndex(this.days, this.from, this.to, date.toEpochDay()) - 1;
+    }
+
+    private int ceilingIndex(CalendarDate date) {
+        return EpochDayArrays.ceilingIndex(this.days, this.from, this.to, date.toEpochDay());
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int index) {
+        return (V) this.values[index];
+    }
+
+    private boolean isWithin(int index) {
+        return index >= this.from && index < this.to;
+    }
+
+    private CalendarDate keyOrNull(int index) {
+        return isWithin(index) ? EpochDays.toCalendarDate(this.days[index]) : null;
+    }
+
+    private V valueOrNull(int index) {
+        return isWithin(index) ? valueAt(index) : null;
+    }
+
+    private Map.Entry<CalendarDate, V> entryOrNull(int index) {
+        if (!isWithin(index)) { return null; }
+
+        return new AbstractMap.SimpleImmutableEntry<CalendarDate, V>(EpochDays.toCalendarDate(this.days[index]),
+                valueAt(index));
+    }
+
+    private CalendarDateMap<V> slice(int firstDay, int endDay) {
+        int newFrom = EpochDayArrays.ceilingIndex(this.days, this.from, this.to, firstDay);
+        int newTo = EpochDayArrays.ceilingIndex(this.days, newFrom, this.to, endDay);
+
+        return new CalendarDateMap<V>(this.days, this.values, newFrom, newTo);
+    }
+
+    /**
+     * Collects entries for a {@link CalendarDateMap}. Of several values put for the same date the last one is kept.
+     *
+     * @param <V>
+     *            Type of the values.
+     */
+    public static final class Builder<V> {
+
+        private int[] days = new int[16];
+        private Object[] values = new Object[16];
+        private int size;
+
+        Builder() {
+        }
+
+        public Builder<V> put(CalendarDate date, V value) {
+            Assert.notNull(date, "Date cannot be null");
+
+            if (this.size == this.days.length) {
+                this.days = Arrays.copyOf(this.days, this.size * 2);
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+            this.days[this.size] = EpochDayArrays.keyOf(date);
+            this.values[this.size++] = value;
+
+            return this;
+        }
+
+        public Builder<V> putAll(Map<CalendarDate, ? extends V> entries) {
+            for (Map.Entry<CalendarDate, ? extends V> entry : entries.entrySet()) {
+                put(entry.getKey(), entry.getValue());
+            }
+
+            return this;
+        }
+
+        public CalendarDateMap<V> build() {
+            int[] order = EpochDayArrays.ascendingOrder(this.days, this.size);
+            Object[] sortedValues = new Object[order.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedValues[i] = this.values[order[i]];
+            }
+
+            return new CalendarDateMap<V>(EpochDayArrays.toEpochDays(this.days, order), sortedValues, 0,
+                    order.length);
+        }
+
+    }
+
+}
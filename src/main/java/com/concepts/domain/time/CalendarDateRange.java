@@ -0,0 +1,304 @@
+package com.concepts.domain.time;
+
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+import com.concepts.domain.support.Assert;
+
+
+/**
+ * A range of consecutive {@link CalendarDate}s. The range is kept as the epoch days of its first day and of the day
+ * after its last day, so {@link #size()}, {@link #contains(CalendarDate)}, {@link #intersection(CalendarDateRange)} and
+ * {@link #span(CalendarDateRange)} are constant time operations.
+ * <p>
+ * A range iterates its days in ascending order by epoch day. Its {@link #spliterator()} splits into halves of equal
+ * size, so per day work can be spread over a fork/join pool with a parallel stream. {@link
+ * #businessDays(BusinessCalendar)} is a view of the business days of the range only.
+ *
+ * @see CalendarDate
+ * @see BusinessCalendar
+ */
+public final class CalendarDateRange implements Iterable<CalendarDate>, Serializable {
+
+    private static final long serialVersionUID = 4237406432271093958L;
+
+    private final int firstDay;
+    private final int endDay;
+
+    /**
+     * Returns the range from {@code first} to {@code last}, both inclusive.
+     */
+    public static CalendarDateRange closed(CalendarDate first, CalendarDate last) {
+        Assert.notNull(first, "First day cannot be null");
+        Assert.notNull(last, "Last day cannot be null");
+        if (last.isBefore(first)) {
+            throw new IllegalArgumentException("Last day " + last + " must not be before first day " + first);
+        }
+
+        return new CalendarDateRange(first.toEpochDay(), last.toEpochDay() + 1);
+    }
+
+    /**
+     * Returns the range from {@code first} inclusive to {@code end} exclusive, which is empty if both are equal.
+     */
+    public static CalendarDateRange halfOpen(CalendarDate first, CalendarDate end) {
+        Assert.notNull(first, "First day cannot be null");
+        Assert.notNull(end, "End of the range cannot be null");
+        if (end.isBefore(first)) {
+            throw new IllegalArgumentException("End of the range " + end + " must not be before first day " + first);
+        }
+
+        return new CalendarDateRange(first.toEpochDay(), end.toEpochDay());
+    }
+
+    private CalendarDateRange(int firstDay, int endDay) {
+        this.firstDay = firstDay;
+        this.endDay = endDay;
+    }
+
+    public CalendarDate getFirstDay() {
+        return EpochDays.toCalendarDate(this.firstDay);
+    }
+
+    /**
+     * Returns the last day of the range.
+     *
+     * @throws NoSuchElementException
+     *             If the range is empty.
+     */
+    public CalendarDate getLastDay() {
+        if (isEmpty()) { throw new NoSuchElementException("An empty range has no last day"); }
+
+        return EpochDays.toCalendarDate(this.endDay - 1);
+    }
+
+    /**
+     * Returns the day after the last day of the range.
+     */
+    public CalendarDate getEnd() {
+        return EpochDays.toCalendarDate(this.endDay);
+    }
+
+    public boolean isEmpty() {
+        return this.endDay == this.firstDay;
+    }
+
+    public int size() {
+        return this.endDay - this.firstDay;
+    }
+
+    public boolean contains(CalendarDate date) {
+        int epochDay = date.toEpochDay();
+
+        return epochDay >= this.firstDay && epochDay < this.endDay;
+    }
+
+    public boolean overlaps(CalendarDateRange other) {
+        return Math.max(this.firstDay, other.firstDay) < Math.min(this.endDay, other.endDay);
+    }
+
+    /**
+     * Returns the days both ranges have in common, an empty range if they do not overlap.
+     */
+    public CalendarDateRange intersection(CalendarDateRange other) {
+        int newFirstDay = Math.max(this.firstDay, other.firstDay);
+
+        return new CalendarDateRange(newFirstDay, Math.max(newFirstDay, Math.min(this.endDay, other.endDay)));
+    }
+
+    /**
+     * Returns the smallest range containing both ranges, including any days in between.
+     */
+    public CalendarDateRange span(CalendarDateRange other) {
+        return new CalendarDateRange(Math.min(this.firstDay, other.firstDay), Math.max(this.endDay, other.endDay));
+    }
+
+    /**
+     * Returns the business days of the range according to {@code calendar}. Within the indexed years of the calendar,
+     * the spliterator of the view is sized and splits evenly by business days.
+     *
+     * @param calendar
+     *            Calendar defining the business days.
+     * @return Business days of the range in ascending order.
+     */
+    public Iterable<CalendarDate> businessDays(BusinessCalendar calendar) {
+        Assert.notNull(calendar, "Calendar cannot be null");
+
+        return new BusinessDays(calendar, this.firstDay, this.endDay);
+    }
+
+    public Iterator<CalendarDate> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    @Override
+    public Spliterator<CalendarDate> spliterator() {
+        return new DaySpliterator(this.firstDay, this.endDay);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (object == null) { return false; }
+        if (this == object) { return true; }
+        if (!(object instanceof CalendarDateRange)) { return false; }
+
+        CalendarDateRange other = (CalendarDateRange) object;
+
+        return this.firstDay == other.firstDay && this.endDay == other.endDay;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 17;
+        result = 37 * result + this.firstDay;
+        result = 37 * result + this.endDay;
+
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + getFirstDay() + ", " + getEnd() + ")";
+    }
+
+    /**
+     * Spliterator over the epoch days from {@code day} to {@code end}, excluding {@code end}.
+     */
+    private static final class DaySpliterator implements Spliterator<CalendarDate> {
+
+        private int day;
+        private final int end;
+
+        DaySpliterator(int day, int end) {
+            this.day = day;
+            this.end = end;
+        }
+
+        public boolean tryAdvance(Consumer<? super CalendarDate> action) {
+            if (this.day >= this.end) { return false; }
+
+            action.accept(EpochDays.toCalendarDate(this.day++));
+
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super CalendarDate> action) {
+            while (this.day < this.end) {
+                action.accept(EpochDays.toCalendarDate(this.day++));
+            }
+        }
+
+        public Spliterator<CalendarDate> trySplit() {
+            int middle = this.day + (this.end - this.day) / 2;
+            if (middle == this.day) { return null; }
+
+            Spliterator<CalendarDate> prefix = new DaySpliterator(this.day, middle);
+            this.day = middle;
+
+            return prefix;
+        }
+
+        public long estimateSize() {
+            return this.end - this.day;
+        }
+
+        public int characteristics() {
+            return ORDERED | DISTINCT | SORTED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+
+        @Override
+        public Comparator<? super CalendarDate> getComparator() {
+            return null;
+        }
+
+    }
+
+    /**
+     * Spliterator over the business days with the ordinals from {@code ordinal} to {@code end} of an index.
+     */
+    private static final class BusinessDaySpliterator implements Spliterator<CalendarDate> {
+
+        private final BusinessDayIndex index;
+        private int ordinal;
+        private final int end;
+
+        BusinessDaySpliterator(BusinessDayIndex index, int ordinal, int end) {
+            this.index = index;
+            this.ordinal = ordinal;
+            this.end = end;
+        }
+
+        public boolean tryAdvance(Consumer<? super CalendarDate> action) {
+            if (this.ordinal >= this.end) { return false; }
+
+            action.accept(EpochDays.toCalendarDate(this.index.businessDayAt(this.ordinal++)));
+
+            return true;
+        }
+
+        public Spliterator<CalendarDate> trySplit() {
+            int middle = this.ordinal + (this.end - this.ordinal) / 2;
+            if (middle == this.ordinal) { return null; }
+
+            Spliterator<CalendarDate> prefix = new BusinessDaySpliterator(this.index, this.ordinal, middle);
+            this.ordinal = middle;
+
+            return prefix;
+        }
+
+        public long estimateSize() {
+            return this.end - this.ordinal;
+        }
+
+        public int characteristics() {
+            return ORDERED | DISTINCT | SORTED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+
+        @Override
+        public Comparator<? super CalendarDate> getComparator() {
+            return null;
+        }
+
+    }
+
+    private static final class BusinessDays implements Iterable<CalendarDate> {
+
+        private final BusinessCalendar calendar;
+        private final int firstDay;
+        private final int endDay;
+
+        BusinessDays(BusinessCalendar calendar, int firstDay, int endDay) {
+            this.calendar = calendar;
+            this.firstDay = firstDay;
+            this.endDay = endDay;
+        }
+
+        public Iterator<CalendarDate> iterator() {
+            return Spliterators.iterator(spliterator());
+        }
+
+        @Override
+        public Spliterator<CalendarDate> spliterator() {
+            if (this.firstDay == this.endDay) { return new DaySpliterator(this.firstDay, this.endDay); }
+
+            BusinessDayIndex index = this.calendar.index(this.firstDay, this.endDay - 1);
+            if (index.coversBetween(this.firstDay, this.endDay)) {
+                return new BusinessDaySpliterator(index, index.ordinal(this.firstDay), index.ordinal(this.endDay));
+            }
+
+            Iterator<CalendarDate> businessDays = this.calendar.businessDays(EpochDays.toCalendarDate(this.firstDay),
+                    EpochDays.toCalendarDate(this.endDay - 1)).iterator();
+
+            return Spliterators.spliteratorUnknownSize(businessDays, Spliterator.ORDERED | Spliterator.DISTINCT
+                    | Spliterator.SORTED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        }
+
+    }
+
+}
@@ -0,0 +1,245 @@
+package com.concepts.domain.time;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Collector;
+
+import com.concepts.domain.support.Assert;
+
+
+/**
+ * Immutable, sorted set of {@link CalendarDate}s kept as an ascending array of epoch days, four bytes per date and no
+ * per entry objects. Lookups are binary searches and range views such as {@link #subSet(CalendarDate, CalendarDate)}
+ * share the array of the set they are taken from.
+ * <p>
+ * Sets are built with a {@link Builder} or collected from a stream with {@link #toCalendarDateSet()}, which takes
+ * linear time for dates added in ascending order. Lenient dates such as February 31st are rejected.
+ * <p>
+ * The set is a {@link java.util.Set} but not a {@link java.util.NavigableSet}, it offers the lookups
+ * {@link #floor(CalendarDate)}, {@link #ceiling(CalendarDate)}, {@link #lower(CalendarDate)} and
+ * {@link #higher(CalendarDate)} and range views of its own.
+ *
+ * @see CalendarDateMap
+ * @see CalendarDateLongMap
+ */
+public final class CalendarDateSet extends AbstractSet<CalendarDate> {
+
+    private static final CalendarDateSet EMPTY = new CalendarDateSet(new int[0], 0, 0);
+
+    private final int[] days;
+    private final int from;
+    private final int to;
+
+    public static CalendarDateSet of(CalendarDate... dates) {
+        Assert.notNull(dates, "Dates cannot be null");
+
+        Builder builder = builder();
+        for (CalendarDate date : dates) {
+            builder.add(date);
+        }
+
+        return builder.build();
+    }
+
+    public static CalendarDateSet copyOf(Iterable<CalendarDate> dates) {
+        Assert.notNull(dates, "Dates cannot be null");
+
+        return builder().addAll(dates).build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns a collector building a {@link CalendarDateSet}, in linear time for a stream in ascending order.
+     */
+    public static Collector<CalendarDate, ?, CalendarDateSet> toCalendarDateSet() {
+        return Collector.of(Builder::new, Builder::add, Builder::addAll, Builder::build);
+    }
+
+    CalendarDateSet(int[] days, int from, int to) {
+        this.days = days;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public int size() {
+        return this.to - this.from;
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        if (!(object instanceof CalendarDate) || !((CalendarDate) object).exists()) { return false; }
+
+        return containsEpochDay(((CalendarDate) object).toEpochDay());
+    }
+
+    @Override
+    public Iterator<CalendarDate> iterator() {
+        return new Iterator<CalendarDate>() {
+
+            private int index = CalendarDateSet.this.from;
+
+            public boolean hasNext() {
+                return this.index < CalendarDateSet.this.to;
+            }
+
+            public CalendarDate next() {
+                if (!hasNext()) { throw new NoSuchElementException(); }
+
+                return EpochDays.toCalendarDate(CalendarDateSet.this.days[this.index++]);
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException("Calendar date sets are immutable");
+            }
+        };
+    }
+
+    /**
+     * Returns the earliest date.
+     *
+     * @throws NoSuchElementException
+     *             If the set is empty.
+     */
+    public CalendarDate first() {
+        if (isEmpty()) { throw new NoSuchElementException("Set is empty"); }
+
+        return EpochDays.toCalendarDate(this.days[this.from]);
+    }
+
+    /**
+     * Returns the latest date.
+     *
+     * @throws NoSuchElementException
+     *             If the set is empty.
+     */
+    public CalendarDate last() {
+        if (isEmpty()) { throw new NoSuchElementException("Set is empty"); }
+
+        return EpochDays.toCalendarDate(this.days[this.to - 1]);
+    }
+
+    /**
+     * Returns the latest date on or before {@code date}, or {@code null} if there is none.
+     */
+    public CalendarDate floor(CalendarDate date) {
+        return dateAt(EpochDayArrays.higherIndex(this.days, this.from, this.to, date.toEpochDay()) - 1);
+    }
+
+    /**
+     * Returns the earliest date on or after {@code date}, or {@code null} if there is none.
+     */
+    public CalendarDate ceiling(CalendarDate date) {
+        return dateAt(EpochDayArrays.ceilingIndex(this.days, this.from, this.to, date.toEpochDay()));
+    }
+
+    /**
+     * Returns the latest date before {@code date}, or {@code null} if there is none.
+     */
+    public CalendarDate lower(CalendarDate date) {
+        return dateAt(EpochDayArrays.ceilingIndex(this.days, this.from, this.to, date.toEpochDay()) - 1);
+    }
+
+    /**
+     * Returns the earliest date after {@code date}, or {@code null} if there is none.
+     */
+    public CalendarDate higher(CalendarDate date) {
+        return dateAt(EpochDayArrays.higherIndex(this.days, this.from, this.to, date.toEpochDay()));
+    }
+
+    /**
+     * Returns a view of the dates from {@code fromInclusive} to {@code toExclusive}.
+     */
+    public CalendarDateSet subSet(CalendarDate fromInclusive, CalendarDate toExclusive) {
+        Assert.isTrue(!toExclusive.isBefore(fromInclusive), "End of the subset must not be before its start");
+
+        return slice(fromInclusive.toEpochDay(), toExclusive.toEpochDay());
+    }
+
+    /**
+     * Returns a view of the dates within {@code range}.
+     */
+    public CalendarDateSet subSet(CalendarDateRange range) {
+        return slice(range.getFirstDay().toEpochDay(), range.getEnd().toEpochDay());
+    }
+
+    /**
+     * Returns a view of the dates before {@code toExclusive}.
+     */
+    public CalendarDateSet headSet(CalendarDate toExclusive) {
+        return slice(Integer.MIN_VALUE, toExclusive.toEpochDay());
+    }
+
+    /**
+     * Returns a view of the dates on or after {@code fromInclusive}.
+     */
+    public CalendarDateSet tailSet(CalendarDate fromInclusive) {
+        return slice(fromInclusive.toEpochDay(), Integer.MAX_VALUE);
+    }
+
+    boolean containsEpochDay(int epochDay) {
+        return EpochDayArrays.indexOf(this.days, this.from, this.to, epochDay) >= 0;
+    }
+
+    private CalendarDate dateAt(int index) {
+        return (index >= this.from && index < this.to) ? EpochDays.toCalendarDate(this.days[index]) : null;
+    }
+
+    private CalendarDateSet slice(int firstDay, int endDay) {
+        int newFrom = EpochDayArrays.ceilingIndex(this.days, this.from, this.to, firstDay);
+        int newTo = EpochDayArrays.ceilingIndex(this.days, newFrom, this.to, endDay);
+
+        return new CalendarDateSet(this.days, newFrom, newTo);
+    }
+
+    /**
+     * Collects dates for a {@link CalendarDateSet}. Duplicates are ignored.
+     */
+    public static final class Builder {
+
+        private int[] days = new int[16];
+        private int size;
+
+        Builder() {
+        }
+
+        public Builder add(CalendarDate date) {
+            Assert.notNull(date, "Date cannot be null");
+
+            this.days = EpochDayArrays.grow(this.days, this.size + 1);
+            this.days[this.size++] = EpochDayArrays.keyOf(date);
+
+            return this;
+        }
+
+        public Builder addAll(Iterable<CalendarDate> dates) {
+            for (CalendarDate date : dates) {
+                add(date);
+            }
+
+            return this;
+        }
+
+        Builder addAll(Builder other) {
+            this.days = EpochDayArrays.grow(this.days, this.size + other.size);
+            System.arraycopy(other.days, 0, this.days, this.size, other.size);
+            this.size += other.size;
+
+            return this;
+        }
+
+        public CalendarDateSet build() {
+            if (this.size == 0) { return EMPTY; }
+
+            int[] sorted = EpochDayArrays.toEpochDays(this.days, EpochDayArrays.ascendingOrder(this.days, this.size));
+
+            return new CalendarDateSet(sorted, 0, sorted.length);
+        }
+
+    }
+
+}
@@ -0,0 +1,175 @@
+package com.concepts.domain.time;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import com.concepts.domain.support.Assert;
+
+
+/**
+ * A {@link BusinessCalendar} combining the business days of several member calendars, such as "New York and London"
+ * for cross border settlement. The holidays and weekends of the members are merged once into the holidays of the
+ * composite, which then answers every query from its own precomputed index at the cost of a single calendar.
+ * <ul>
+ * <li>{@link #unionOf(BusinessCalendar...)} has the holidays and weekends of all members, a day is a business day only
+ * if it is one in every member.</li>
+ * <li>{@link #intersectionOf(BusinessCalendar...)} has only the holidays and weekends the members share, a day is a
+ * business day if it is one in at least one member.</li>
+ * </ul>
+ * The weekends of the members are assumed to fall on the same days every week and are merged into the weekend mask of
+ * the composite. Within its indexed years, which span the indexed years of all members, a composite reflects the
+ * holidays of its members at the time it was created, including those generated by their holiday rules. Outside these
+ * years the members are asked at query time. Every call of a factory method returns a new composite, so holidays
+ * added to one composite never show up in another.
+ *
+ * @see BusinessCalendar
+ */
+public final class CompositeBusinessCalendar extends BusinessCalendar {
+
+    private final boolean union;
+    private final BusinessCalendar[] members;
+
+    public static CompositeBusinessCalendar unionOf(BusinessCalendar... calendars) {
+        return compositeOf(true, calendars);
+    }
+
+    public static CompositeBusinessCalendar intersectionOf(BusinessCalendar... calendars) {
+        return compositeOf(false, calendars);
+    }
+
+    private static CompositeBusinessCalendar compositeOf(boolean union, BusinessCalendar... calendars) {
+        Assert.notNull(calendars, "Calendars cannot be null");
+        Assert.isTrue(calendars.length > 0, "At least one calendar must be combined");
+        for (BusinessCalendar calendar : calendars) {
+            Assert.notNull(calendar, "Calendar cannot be null");
+        }
+
+        return new CompositeBusinessCalendar(union, calendars.clone());
+    }
+
+    private CompositeBusinessCalendar(boolean union, BusinessCalendar[] members) {
+        this(union, members, holidaysOf(members, firstIndexedYearOf(members), lastIndexedYearOf(members)));
+    }
+
+    private CompositeBusinessCalendar(boolean union, BusinessCalendar[] members, HolidayBitmap[] memberHolidays) {
+        super(firstIndexedYearOf(members), lastIndexedYearOf(members), weekendMaskOf(union, members),
+                union ? unionOf(memberHolidays) : intersectionOf(members, memberHolidays));
+
+        this.union = union;
+        this.members = members;
+    }
+
+    @Override
+    public Set<CalendarDate> setCorporateHolidays() {
+        return getHolidays().toCalendarDates();
+    }
+
+    /**
+     * Outside the indexed years, a day is also a holiday if the members make it one.
+     */
+    @Override
+    public boolean isHoliday(CalendarDate day) {
+        if (super.isHoliday(day)) { return true; }
+
+        int year = day.getYear();
+        if (year >= getFirstIndexedYear() && year <= getLastIndexedYear()) { return false; }
+
+        if (this.union) {
+            for (BusinessCalendar member : this.members) {
+                if (member.isHoliday(day)) { return true; }
+            }
+
+            return false;
+        }
+
+        if (isWeekendInAll(this.members, day)) { return false; }
+        for (BusinessCalendar member : this.members) {
+            if (!member.isHoliday(day) && !member.isWeekend(day)) { return false; }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the holidays of the members, with their holiday rules applied to the years from {@code firstYear} to
+     * {@code lastYear}.
+     */
+    private static HolidayBitmap[] holidaysOf(BusinessCalendar[] members, int firstYear, int lastYear) {
+        HolidayBitmap[] holidays = new HolidayBitmap[members.length];
+        for (int i = 0; i < members.length; i++) {
+            holidays[i] = members[i].getHolidays(firstYear, lastYear);
+        }
+
+        return holidays;
+    }
+
+    private static HolidayBitmap unionOf(HolidayBitmap[] memberHolidays) {
+        HolidayBitmap result = HolidayBitmap.EMPTY;
+        for (HolidayBitmap holidays : memberHolidays) {
+            result = result.union(holidays);
+        }
+
+        return result;
+    }
+
+    /**
+     * A day of the intersection is a holiday if it is no common weekend and yet no member does business on it, which
+     * can only be the case for a day that is a holiday in at least one member.
+     */
+    private static HolidayBitmap intersectionOf(BusinessCalendar[] members, HolidayBitmap[] memberHolidays) {
+        Set<CalendarDate> holidays = new HashSet<CalendarDate>();
+        for (int epochDay : unionOf(memberHolidays).epochDays()) {
+            CalendarDate day = EpochDays.toCalendarDate(epochDay);
+            if (!isWeekendInAll(members, day) && isClosedInAll(members, memberHolidays, epochDay, day)) {
+                holidays.add(day);
+            }
+        }
+
+        return HolidayBitmap.of(holidays);
+    }
+
+    private static boolean isClosedInAll(BusinessCalendar[] members, HolidayBitmap[] memberHolidays, int epochDay,
+            CalendarDate day) {
+        for (int i = 0; i < members.length; i++) {
+            if (!memberHolidays[i].contains(epochDay) && !members[i].isWeekend(day)) { return false; }
+        }
+
+        return true;
+    }
+
+    private static int weekendMaskOf(boolean union, BusinessCalendar[] members) {
+        int mask = union ? 0 : -1;
+        for (BusinessCalendar member : members) {
+            mask = union ? mask | weekendMaskOf(member) : mask & weekendMaskOf(member);
+        }
+
+        return mask;
+    }
+
+    private static boolean isWeekendInAll(BusinessCalendar[] members, CalendarDate day) {
+        for (BusinessCalendar member : members) {
+            if (!member.isWeekend(day)) { return false; }
+        }
+
+        return true;
+    }
+
+    private static int firstIndexedYearOf(BusinessCalendar[] members) {
+        int year = members[0].getFirstIndexedYear();
+        for (BusinessCalendar member : members) {
+            year = Math.min(year, member.getFirstIndexedYear());
+        }
+
+        return year;
+    }
+
+    private static int lastIndexedYearOf(BusinessCalendar[] members) {
+        int year = members[0].getLastIndexedYear();
+        for (BusinessCalendar member : members) {
+            year = Math.max(year, member.getLastIndexedYear());
+        }
+
+        return year;
+    }
+
+}
@@ -0,0 +1,647 @@
+package com.concepts.domain.time;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.concepts.domain.support.Assert;
+
+
+/**
+ * A date and time pattern in the notation of {@link java.text.SimpleDateFormat}, compiled once into a list of fields
+ * and literals. A compiled pattern is immutable and can be shared by any number of threads. It parses text without
+ * creating {@link java.util.Calendar} or {@link java.util.Date} instances, straight out of a {@link CharSequence} or a
+ * range of bytes, such as a line in the read buffer of a file. Likewise it formats dates and time points straight into
+ * a {@link StringBuilder}, an {@link Appendable} or a {@link ByteBuffer}.
+ * <p>
+ * The supported pattern letters are {@code y} (year), {@code M} (month as number, {@code MMM} as short and
+ * {@code MMMM} as full English name), {@code d} (day of month), {@code H} (hour of day), {@code m} (minute),
+ * {@code s} (second) and {@code S} (millisecond). Text in single quotes and any other non letter character is matched
+ * literally. A number next to another number, as in {@code yyyyMMdd}, must have exactly as many digits as pattern
+ * letters, otherwise any number of digits is accepted.
+ * <p>
+ * Parsing is strict: the whole input must match the pattern and every field must be in range, otherwise an
+ * {@link IllegalArgumentException} tells what was expected at which position. Fields missing from the pattern default
+ * to 1970-01-01 00:00:00.000.
+ * <p>
+ * Numbers are formatted with at least as many digits as pattern letters. Time points are formatted as local time in
+ * the given time zone, or in the default time zone if none is given. Formatting into a caller's buffer allocates
+ * nothing with a given zone, while the default zone is looked up, and thereby cloned, on every call.
+ *
+ * @see CalendarDate#from(String, String)
+ * @see TimePoint#parseFrom(String, String)
+ */
+public final class DatePattern {
+
+    private static final int MAX_CACHED_PATTERNS = 256;
+    private static final ConcurrentMap<String, DatePattern> CACHE = new ConcurrentHashMap<String, DatePattern>();
+
+    private static final int LITERAL = 0;
+    private static final int YEAR = 1;
+    private static final int MONTH = 2;
+    private static final int SHORT_MONTH_NAME = 3;
+    private static final int MONTH_NAME = 4;
+    private static final int DAY = 5;
+    private static final int HOUR = 6;
+    private static final int MINUTE = 7;
+    private static final int SECOND = 8;
+    private static final int MILLISECOND = 9;
+
+    private static final String[] SHORT_MONTH_NAMES = { "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep",
+            "Oct", "Nov", "Dec" };
+    private static final String[] MONTH_NAMES = { "January", "February", "March", "April", "May", "June", "July",
+            "August", "September", "October", "November", "December" };
+
+    private final String pattern;
+    private final int[] fields;
+    private final int[] widths;
+    private final int[] minDigits;
+    private final int[] maxDigits;
+    private final char[] literals;
+
+    /**
+     * Returns the compiled form of {@code pattern}. Patterns are compiled once and cached, up to
+     * {@value #MAX_CACHED_PATTERNS} of them. Beyond that patterns are compiled on every call, so patterns built at
+     * runtime should be compiled once and kept by the caller.
+     *
+     * @param pattern
+     *            Pattern such as {@code yyyy-MM-dd}.
+     * @return Compiled pattern.
+     */
+    public static DatePattern compile(String pattern) {
+        Assert.notNull(pattern, "Pattern cannot be null");
+
+        DatePattern compiled = CACHE.get(pattern);
+        if (compiled == null) {
+            compiled = new DatePattern(pattern);
+            if (CACHE.size() < MAX_CACHED_PATTERNS) {
+                DatePattern cached = CACHE.putIfAbsent(pattern, compiled);
+                if (cached != null) {
+                    compiled = cached;
+                }
+            }
+        }
+
+        return compiled;
+    }
+
+    private DatePattern(String pattern) {
+        List<int[]> elements = new ArrayList<int[]>();
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                i = compileQuoted(pattern, i + 1, elements);
+            }
+            else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                int count = 1;
+                while (i + count < pattern.length() && pattern.charAt(i + count) == c) {
+                    count++;
+                }
+                elements.add(new int[] { fieldOf(pattern, c, count), count });
+                i += count;
+            }
+            else {
+                elements.add(new int[] { LITERAL, c });
+                i++;
+            }
+        }
+
+        this.pattern = pattern;
+        this.fields = new int[elements.size()];
+        this.widths = new int[elements.size()];
+        this.minDigits = new int[elements.size()];
+        this.maxDigits = new int[elements.size()];
+        this.literals = new char[elements.size()];
+        for (int j = 0; j < elements.size(); j++) {
+            int[] element = elements.get(j);
+            this.fields[j] = element[0];
+            this.widths[j] = element[1];
+            if (element[0] == LITERAL) {
+                this.literals[j] = (char) element[1];
+            }
+            else if (isNumeric(element[0])) {
+                boolean abutting = (j > 0 && isNumeric(elements.get(j - 1)[0]))
+                        || (j + 1 < elements.size() && isNumeric(elements.get(j + 1)[0]));
+                this.minDigits[j] = abutting ? element[1] : 1;
+                this.maxDigits[j] = abutting ? element[1] : maxDigitsOf(element[0], element[1]);
+            }
+        }
+    }
+
+    public String getPattern() {
+        return this.pattern;
+    }
+
+    public CalendarDate parseDate(CharSequence text) {
+        Assert.notNull(text, "Text to parse cannot be null");
+
+        return parseDate(text, 0, text.length());
+    }
+
+    /**
+     * Parses the date in the characters of {@code text} from {@code start} to {@code end}, excluding {@code end}. The
+     * time fields of the pattern are checked but not part of the result.
+     */
+    public CalendarDate parseDate(CharSequence text, int start, int end) {
+        Assert.notNull(text, "Text to parse cannot be null");
+        assertIsRange(start, end, text.length());
+
+        return CalendarDate.fromPackedInt(dateOf(parse(text, start, end)));
+    }
+
+    /**
+     * Parses the date in the bytes from {@code start} to {@code end}, excluding {@code end}, each byte being an
+     * ISO-8859-1 character.
+     */
+    public CalendarDate parseDate(byte[] bytes, int start, int end) {
+        Assert.notNull(bytes, "Bytes to parse cannot be null");
+        assertIsRange(start, end, bytes.length);
+
+        return CalendarDate.fromPackedInt(dateOf(parse(bytes, start, end)));
+    }
+
+    /**
+     * Parses the date in the bytes of {@code buffer} from the absolute index {@code start} to {@code end}, excluding
+     * {@code end}, each byte being an ISO-8859-1 character. The position of the buffer is left unchanged.
+     */
+    public CalendarDate parseDate(ByteBuffer buffer, int start, int end) {
+        Assert.notNull(buffer, "Buffer to parse cannot be null");
+        assertIsRange(start, end, buffer.limit());
+
+        return CalendarDate.fromPackedInt(dateOf(parse(buffer, start, end)));
+    }
+
+    /**
+     * Parses the time point in {@code text}, the fields being local time in the default time zone.
+     */
+    public TimePoint parseTimePoint(CharSequence text) {
+        Assert.notNull(text, "Text to parse cannot be null");
+
+        return parseTimePoint(text, 0, text.length());
+    }
+
+    public TimePoint parseTimePoint(CharSequence text, int start, int end) {
+        Assert.notNull(text, "Text to parse cannot be null");
+        assertIsRange(start, end, text.length());
+
+        return toTimePoint(parse(text, start, end));
+    }
+
+    public TimePoint parseTimePoint(byte[] bytes, int start, int end) {
+        Assert.notNull(bytes, "Bytes to parse cannot be null");
+        assertIsRange(start, end, bytes.length);
+
+        return toTimePoint(parse(bytes, start, end));
+    }
+
+    public TimePoint parseTimePoint(ByteBuffer buffer, int start, int end) {
+        Assert.notNull(buffer, "Buffer to parse cannot be null");
+        assertIsRange(start, end, buffer.limit());
+
+        return toTimePoint(parse(buffer, start, end));
+    }
+
+    public String format(CalendarDate date) {
+        return formatTo(date, new StringBuilder(this.fields.length + 8)).toString();
+    }
+
+    public String format(TimePoint timePoint) {
+        return format(timePoint, TimeZone.getDefault());
+    }
+
+    public String format(TimePoint timePoint, TimeZone zone) {
+        return formatTo(timePoint, zone, new StringBuilder(this.fields.length + 8)).toString();
+    }
+
+    /**
+     * Appends {@code date} to {@code builder}. The time fields of the pattern are formatted as midnight.
+     *
+     * @return {@code builder}.
+     */
+    public StringBuilder formatTo(CalendarDate date, StringBuilder builder) {
+        Assert.notNull(date, "Date cannot be null");
+        Assert.notNull(builder, "Builder cannot be null");
+
+        formatUnchecked(date.normalized().asPackedInt(), 0, builder);
+
+        return builder;
+    }
+
+    /**
+     * Appends {@code date} to {@code appendable}. The time fields of the pattern are formatted as midnight.
+     *
+     * @return {@code appendable}.
+     * @throws IOException
+     *             If {@code appendable} fails.
+     */
+    public Appendable formatTo(CalendarDate date, Appendable appendable) throws IOException {
+        Assert.notNull(date, "Date cannot be null");
+        Assert.notNull(appendable, "Appendable cannot be null");
+
+        format(date.normalized().asPackedInt(), 0, appendable);
+
+        return appendable;
+    }
+
+    /**
+     * Puts {@code date} into {@code buffer} as ISO-8859-1 characters, starting at its position. The time fields of the
+     * pattern are formatted as midnight.
+     *
+     * @return {@code buffer}.
+     */
+    public ByteBuffer formatTo(CalendarDate date, ByteBuffer buffer) {
+        Assert.notNull(date, "Date cannot be null");
+        Assert.notNull(buffer, "Buffer cannot be null");
+
+        formatUnchecked(date.normalized().asPackedInt(), 0, buffer);
+
+        return buffer;
+    }
+
+    public StringBuilder formatTo(TimePoint timePoint, StringBuilder builder) {
+        return formatTo(timePoint, TimeZone.getDefault(), builder);
+    }
+
+    public Appendable formatTo(TimePoint timePoint, Appendable appendable) throws IOException {
+        return formatTo(timePoint, TimeZone.getDefault(), appendable);
+    }
+
+    public ByteBuffer formatTo(TimePoint timePoint, ByteBuffer buffer) {
+        return formatTo(timePoint, TimeZone.getDefault(), buffer);
+    }
+
+    /**
+     * Appends {@code timePoint} as local time in {@code zone} to {@code builder}.
+     *
+     * @return {@code builder}.
+     */
+    public StringBuilder formatTo(TimePoint timePoint, TimeZone zone, StringBuilder builder) {
+        Assert.notNull(timePoint, "Time point cannot be null");
+        Assert.notNull(zone, "Time zone cannot be null");
+        Assert.notNull(builder, "Builder cannot be null");
+
+        long local = toLocalMilliseconds(timePoint, zone);
+        formatUnchecked(localDateOf(local), localMillisecondOfDayOf(local), builder);
+
+        return builder;
+    }
+
+    /**
+     * Appends {@code timePoint} as local time in {@code zone} to {@code appendable}.
+     *
+     * @return {@code appendable}.
+     * @throws IOException
+     *             If {@code appendable} fails.
+     */
+    public Appendable formatTo(TimePoint timePoint, TimeZone zone, Appendable appendable) throws IOException {
+        Assert.notNull(timePoint, "Time point cannot be null");
+        Assert.notNull(zone, "Time zone cannot be null");
+        Assert.notNull(appendable, "Appendable cannot be null");
+
+        long local = toLocalMilliseconds(timePoint, zone);
+        format(localDateOf(local), localMillisecondOfDayOf(local), appendable);
+
+        return appendable;
+    }
+
+    /**
+     * Puts {@code timePoint} as local time in {@code zone} into {@code buffer} as ISO-8859-1 characters, starting at
+     * its position.
+     *
+     * @return {@code buffer}.
+     */
+    public ByteBuffer formatTo(TimePoint timePoint, TimeZone zone, ByteBuffer buffer) {
+        Assert.notNull(timePoint, "Time point cannot be null");
+        Assert.notNull(zone, "Time zone cannot be null");
+        Assert.notNull(buffer, "Buffer cannot be null");
+
+        long local = toLocalMilliseconds(timePoint, zone);
+        formatUnchecked(localDateOf(local), localMillisecondOfDayOf(local), buffer);
+
+        return buffer;
+    }
+
+    @Override
+    public String toString() {
+        return this.pattern;
+    }
+
+    /**
+     * Formats into a {@link StringBuilder} or a {@link ByteBuffer}, neither of which throws {@link IOException}.
+     */
+    private void formatUnchecked(int packedDate, int millisecondOfDay, Object target) {
+        try {
+            format(packedDate, millisecondOfDay, target);
+        }
+        catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Formats the date packed as by {@link CalendarDate#asPackedInt()} and the millisecond of the day into
+     * {@code target}, a {@link StringBuilder}, a {@link ByteBuffer} or any other {@link Appendable}.
+     */
+    private void format(int packedDate, int millisecondOfDay, Object target) throws IOException {
+        for (int i = 0; i < this.fields.length; i++) {
+            switch (this.fields[i]) {
+                case LITERAL:
+                    append(target, this.literals[i]);
+                    break;
+                case YEAR:
+                    appendNumber(target, packedDate / 10000, this.widths[i]);
+                    break;
+                case MONTH:
+                    appendNumber(target, packedDate / 100 % 100, this.widths[i]);
+                    break;
+                case SHORT_MONTH_NAME:
+                    appendText(target, SHORT_MONTH_NAMES[packedDate / 100 % 100 - 1]);
+                    break;
+                case MONTH_NAME:
+                    appendText(target, MONTH_NAMES[packedDate / 100 % 100 - 1]);
+                    break;
+                case DAY:
+                    appendNumber(target, packedDate % 100, this.widths[i]);
+                    break;
+                case HOUR:
+                    appendNumber(target, millisecondOfDay / 3600000, this.widths[i]);
+                    break;
+                case MINUTE:
+                    appendNumber(target, millisecondOfDay / 60000 % 60, this.widths[i]);
+                    break;
+                case SECOND:
+                    appendNumber(target, millisecondOfDay / 1000 % 60, this.widths[i]);
+                    break;
+                default:
+                    appendNumber(target, millisecondOfDay % 1000, this.widths[i]);
+            }
+        }
+    }
+
+    private static void appendNumber(Object target, int value, int width) throws IOException {
+        int digits = 1;
+        for (long power = 10; power <= value; power *= 10) {
+            digits++;
+        }
+        for (int i = digits; i < width; i++) {
+            append(target, '0');
+        }
+
+        int divisor = 1;
+        for (int i = 1; i < digits; i++) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            append(target, (char) ('0' + value / divisor % 10));
+        }
+    }
+
+    private static void appendText(Object target, String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            append(target, text.charAt(i));
+        }
+    }
+
+    private static void append(Object target, char c) throws IOException {
+        if (target instanceof StringBuilder) {
+            ((StringBuilder) target).append(c);
+        }
+        else if (target instanceof ByteBuffer) {
+            ((ByteBuffer) target).put((byte) c);
+        }
+        else {
+            ((Appendable) target).append(c);
+        }
+    }
+
+    private static long toLocalMilliseconds(TimePoint timePoint, TimeZone zone) {
+        return ZoneOffsetTable.of(zone).toLocal(timePoint.getMillisecondsFromEpoc());
+    }
+
+    private static int localDateOf(long localMilliseconds) {
+        int epochDay = (int) Math.floorDiv(localMilliseconds, TimeUnitConversionFactors.MILLISECONDS_PER_DAY);
+
+        return EpochDays.toCalendarDate(epochDay).asPackedInt();
+    }
+
+    private static int localMillisecondOfDayOf(long localMilliseconds) {
+        return (int) Math.floorMod(localMilliseconds, TimeUnitConversionFactors.MILLISECONDS_PER_DAY);
+    }
+
+    /**
+     * Parses {@code source}, a {@link CharSequence}, a byte array or a {@link ByteBuffer}, into the date packed as by
+     * {@link CalendarDate#asPackedInt()} in the upper and the millisecond of the day in the lower half of a long.
+     */
+    private long parse(Object source, int start, int end) {
+        int year = 1970;
+        int month = 1;
+        int day = 1;
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        int millisecond = 0;
+
+        int position = start;
+        for (int i = 0; i < this.fields.length; i++) {
+            int field = this.fields[i];
+            if (field == LITERAL) {
+                if (position >= end || charAt(source, position) != this.literals[i]) {
+                    throw parseError(source, start, end, position, "'" + this.literals[i] + "'");
+                }
+                position++;
+            }
+            else if (field == SHORT_MONTH_NAME || field == MONTH_NAME) {
+                String[] names = (field == MONTH_NAME) ? MONTH_NAMES : SHORT_MONTH_NAMES;
+                month = monthAt(source, position, end, names);
+                if (month == 0) { throw parseError(source, start, end, position, "name of a month"); }
+                position += names[month - 1].length();
+            }
+            else {
+                int digits = 0;
+                int value = 0;
+                while (digits < this.maxDigits[i] && position + digits < end) {
+                    char c = charAt(source, position + digits);
+                    if (c < '0' || c > '9') {
+                        break;
+                    }
+                    value = value * 10 + (c - '0');
+                    digits++;
+                }
+                if (digits < this.minDigits[i]) {
+                    throw parseError(source, start, end, position, this.minDigits[i] + " digit(s)");
+                }
+                position += digits;
+
+                switch (field) {
+                    case YEAR:
+                        year = value;
+                        break;
+                    case MONTH:
+                        month = value;
+                        break;
+                    case DAY:
+                        day = value;
+                        break;
+                    case HOUR:
+                        hour = value;
+                        break;
+                    case MINUTE:
+                        minute = value;
+                        break;
+                    case SECOND:
+                        second = value;
+                        break;
+                    default:
+                        millisecond = value;
+                }
+            }
+        }
+
+        if (position < end) { throw parseError(source, start, end, position, "end of text"); }
+        if (year > CalendarDate.MAX_YEAR) {
+            throw new IllegalArgumentException("Year " + year + " in \"" + textOf(source, start, end)
+                    + "\" must not be after " + CalendarDate.MAX_YEAR);
+        }
+        if (month < 1 || month > 12 || day < 1 || day > EpochDays.lengthOfMonth(year, month)) {
+            throw new IllegalArgumentException("Date " + year + "-" + month + "-" + day + " in \""
+                    + textOf(source, start, end) + "\" does not exist");
+        }
+        if (hour > 23 || minute > 59 || second > 59 || millisecond > 999) {
+            throw new IllegalArgumentException("Time " + hour + ":" + minute + ":" + second + " in \""
+                    + textOf(source, start, end) + "\" does not exist");
+        }
+
+        int millisecondOfDay = ((hour * 60 + minute) * 60 + second) * 1000 + millisecond;
+
+        return ((long) (year * 10000 + month * 100 + day) << 32) | millisecondOfDay;
+    }
+
+    private IllegalArgumentException parseError(Object source, int start, int end, int position, String expected) {
+        return new IllegalArgumentException("Cannot parse \"" + textOf(source, start, end) + "\" as " + this.pattern
+                + ", expected " + expected + " at position " + (position - start));
+    }
+
+    private static int dateOf(long parsed) {
+        return (int) (parsed >>> 32);
+    }
+
+    private static TimePoint toTimePoint(long parsed) {
+        CalendarDate date = CalendarDate.fromPackedInt(dateOf(parsed));
+        int millisecondOfDay = (int) parsed;
+
+        return TimePoint.at(date.getYear(), date.getMonth(), date.getDay(), millisecondOfDay / 3600000,
+                millisecondOfDay / 60000 % 60, millisecondOfDay / 1000 % 60, millisecondOfDay % 1000);
+    }
+
+    /**
+     * Returns the month whose name starts at {@code position}, ignoring case, or 0 if there is none.
+     */
+    private static int monthAt(Object source, int position, int end, String[] names) {
+        for (int month = 0; month < names.length; month++) {
+            String name = names[month];
+            if (position + name.length() <= end && regionMatches(source, position, name)) { return month + 1; }
+        }
+
+        return 0;
+    }
+
+    private static boolean regionMatches(Object source, int position, String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (Character.toLowerCase(charAt(source, position + i)) != Character.toLowerCase(name.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static char charAt(Object source, int index) {
+        if (source instanceof CharSequence) { return ((CharSequence) source).charAt(index); }
+        if (source instanceof byte[]) { return (char) (((byte[]) source)[index] & 0xFF); }
+
+        return (char) (((ByteBuffer) source).get(index) & 0xFF);
+    }
+
+    private static String textOf(Object source, int start, int end) {
+        StringBuilder text = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            text.append(charAt(source, i));
+        }
+
+        return text.toString();
+    }
+
+    private static int compileQuoted(String pattern, int start, List<int[]> elements) {
+        if (start < pattern.length() && pattern.charAt(start) == '\'') {
+            elements.add(new int[] { LITERAL, '\'' });
+
+            return start + 1;
+        }
+
+        for (int i = start; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                    i++;
+                }
+                else {
+                    return i + 1;
+                }
+            }
+            elements.add(new int[] { LITERAL, c });
+        }
+
+        throw new IllegalArgumentException("Unterminated quote in pattern " + pattern);
+    }
+
+    private static int fieldOf(String pattern, char letter, int count) {
+        Assert.isTrue(count <= 9, "Pattern letter '" + letter + "' is repeated too often, in pattern " + pattern);
+
+        switch (letter) {
+            case 'y':
+                if (count == 2) {
+                    throw new IllegalArgumentException("Two digit years are not supported, in pattern " + pattern);
+                }
+                return YEAR;
+            case 'M':
+                return (count >= 4) ? MONTH_NAME : ((count == 3) ? SHORT_MONTH_NAME : MONTH);
+            case 'd':
+                return DAY;
+            case 'H':
+                return HOUR;
+            case 'm':
+                return MINUTE;
+            case 's':
+                return SECOND;
+            case 'S':
+                return MILLISECOND;
+            default:
+                throw new IllegalArgumentException("Pattern letter '" + letter + "' is not supported, in pattern "
+                        + pattern);
+        }
+    }
+
+    private static boolean isNumeric(int field) {
+        return field != LITERAL && field != SHORT_MONTH_NAME && field != MONTH_NAME;
+    }
+
+    private static int maxDigitsOf(int field, int count) {
+        if (field == YEAR) { return Math.max(count, 6); }
+        if (field == MILLISECOND) { return Math.max(count, 3); }
+
+        return Math.max(count, 2);
+    }
+
+    private static void assertIsRange(int start, int end, int length) {
+        if (start < 0 || start > end || end > length) {
+            throw new IllegalArgumentException("Range " + start + " - " + end + " is not within the input of length "
+                    + length);
+        }
+    }
+
+}
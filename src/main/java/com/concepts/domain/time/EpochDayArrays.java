@@ -0,0 +1,114 @@
+package com.concepts.domain.time;
+
+import java.util.Arrays;
+
+
+/**
+ * Binary searches and bulk construction for ascending arrays of epoch days, as used by the date keyed collections
+ * {@link CalendarDateSet}, {@link CalendarDateLongMap} and {@link CalendarDateMap}. The collections share arrays
+ * between views, so all searches work on a slice from {@code from} inclusive to {@code to} exclusive.
+ */
+final class EpochDayArrays {
+
+    private EpochDayArrays() {
+    }
+
+    /**
+     * Returns the epoch day of {@code date} as the key of a collection. Lenient dates such as February 31st are
+     * rejected, as their epoch day is that of another date.
+     */
+    static int keyOf(CalendarDate date) {
+        if (!date.exists()) {
+            throw new IllegalArgumentException("Date " + date.getYear() + "-" + date.getMonth() + "-" + date.getDay()
+                    + " does not exist");
+        }
+
+        return date.toEpochDay();
+    }
+
+    /**
+     * Returns the index of the first day in the slice on or after {@code epochDay}, or {@code to} if there is none.
+     */
+    static int ceilingIndex(int[] days, int from, int to, int epochDay) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (days[middle] < epochDay) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Returns the index of the first day in the slice after {@code epochDay}, or {@code to} if there is none.
+     */
+    static int higherIndex(int[] days, int from, int to, int epochDay) {
+        return (epochDay == Integer.MAX_VALUE) ? to : ceilingIndex(days, from, to, epochDay + 1);
+    }
+
+    /**
+     * Returns the index of {@code epochDay} in the slice, or -1 if it is not contained.
+     */
+    static int indexOf(int[] days, int from, int to, int epochDay) {
+        int index = ceilingIndex(days, from, to, epochDay);
+
+        return (index < to && days[index] == epochDay) ? index : -1;
+    }
+
+    /**
+     * Returns the positions of {@code days[0]} to {@code days[size - 1]} in ascending order of their days. Of equal
+     * days only the position added last is kept. Takes linear time if the days are ascending already.
+     */
+    static int[] ascendingOrder(int[] days, int size) {
+        boolean ascending = true;
+        for (int i = 1; i < size && ascending; i++) {
+            ascending = days[i - 1] < days[i];
+        }
+
+        int[] order = new int[size];
+        if (ascending) {
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+
+            return order;
+        }
+
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = ((long) days[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (i + 1 < size && (int) (keys[i + 1] >> 32) == (int) (keys[i] >> 32)) {
+                continue;
+            }
+            order[count++] = (int) keys[i];
+        }
+
+        return Arrays.copyOf(order, count);
+    }
+
+    static int[] toEpochDays(int[] days, int[] order) {
+        int[] result = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = days[order[i]];
+        }
+
+        return result;
+    }
+
+    static int[] grow(int[] array, int minimumLength) {
+        return (array.length >= minimumLength) ? array : Arrays.copyOf(array, Math.max(minimumLength,
+                array.length * 2));
+    }
+
+}
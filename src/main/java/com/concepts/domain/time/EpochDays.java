@@ -0,0 +1,87 @@
+package com.concepts.domain.time;
+
+import java.util.Calendar;
+
+import com.concepts.domain.support.Assert;
+
+
+/**
+ * Conversions between civil dates and epoch days, i.e. the number of days since 1970-01-01. The arithmetic follows the
+ * proleptic Gregorian calendar and involves neither {@link java.util.Calendar} nor the default time zone, which makes
+ * it suitable for day level indexing of {@link CalendarDate}s.
+ *
+ * @see CalendarDate
+ */
+final class EpochDays {
+
+    private static final int DAYS_PER_ERA = 146097;
+    private static final int DAYS_FROM_ERA_TO_EPOCH = 719468;
+
+    private EpochDays() {
+    }
+
+    static int of(int year, int month, int day) {
+        int y = (month <= 2) ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+
+        return era * DAYS_PER_ERA + dayOfEra - DAYS_FROM_ERA_TO_EPOCH;
+    }
+
+    static int lengthOfMonth(int year, int month) {
+        if (month == 2) { return isLeapYear(year) ? 29 : 28; }
+
+        return (month == 4 || month == 6 || month == 9 || month == 11) ? 30 : 31;
+    }
+
+    static boolean isLeapYear(int year) {
+        return (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * Returns the day of the week of an epoch day, from 0 for Monday to 6 for Sunday.
+     */
+    static int dayOfWeek(int epochDay) {
+        int dayOfWeek = (epochDay + 3) % 7;
+
+        return (dayOfWeek < 0) ? dayOfWeek + 7 : dayOfWeek;
+    }
+
+    /**
+     * Converts a day of the week given as {@link Calendar#SUNDAY} to {@link Calendar#SATURDAY} into the
+     * numbering of {@link #dayOfWeek(int)}.
+     */
+    static int dayOfWeekOf(int calendarDayOfWeek) {
+        Assert.isTrue(calendarDayOfWeek >= Calendar.SUNDAY && calendarDayOfWeek <= Calendar.SATURDAY, "Day of the week "
+                + calendarDayOfWeek + " is not between Calendar.SUNDAY and Calendar.SATURDAY");
+
+        return (calendarDayOfWeek + 5) % 7;
+    }
+
+    static int yearOf(int epochDay) {
+        int z = epochDay + DAYS_FROM_ERA_TO_EPOCH;
+        int era = (z >= 0 ? z : z - DAYS_PER_ERA + 1) / DAYS_PER_ERA;
+        int dayOfEra = z - era * DAYS_PER_ERA;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+
+        return yearOfEra + era * 400 + (dayOfYear >= 306 ? 1 : 0);
+    }
+
+    static CalendarDate toCalendarDate(int epochDay) {
+        int z = epochDay + DAYS_FROM_ERA_TO_EPOCH;
+        int era = (z >= 0 ? z : z - DAYS_PER_ERA + 1) / DAYS_PER_ERA;
+        int dayOfEra = z - era * DAYS_PER_ERA;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = (shiftedMonth < 10) ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        return CalendarDate.from(year, month, day);
+    }
+
+}
@@ -0,0 +1,184 @@
+package com.concepts.domain.time;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import com.concepts.domain.support.Assert;
+
+
+/**
+ * Compact, immutable set of holidays keyed by epoch day. One bit is kept per day between the earliest and the latest
+ * holiday, so fifty years of holidays occupy less than 3 KB and membership is tested without any allocation.
+ * <p>
+ * The bitmap starts at a multiple of 64 days so that derived bitmaps can copy whole words. Lenient dates such as
+ * February 31st are rejected, as their epoch day is that of another date.
+ *
+ * @see BusinessCalendar
+ */
+final class HolidayBitmap {
+
+    static final HolidayBitmap EMPTY = new HolidayBitmap(0, new long[0]);
+
+    private final int firstDay;
+    private final long[] words;
+
+    static HolidayBitmap of(Set<CalendarDate> days) {
+        return EMPTY.with(days);
+    }
+
+    /**
+     * Creates a bitmap whose bit {@code i} stands for the epoch day {@code firstDay + i}, {@code firstDay} being a
+     * multiple of 64.
+     */
+    static HolidayBitmap of(int firstDay, long[] words) {
+        Assert.isTrue(firstDay == alignedFloor(firstDay), "First day of a holiday bitmap must be a multiple of 64");
+
+        return new HolidayBitmap(firstDay, words.clone());
+    }
+
+    private HolidayBitmap(int firstDay, long[] words) {
+        this.firstDay = firstDay;
+        this.words = words;
+    }
+
+    int getFirstDay() {
+        return this.firstDay;
+    }
+
+    long[] toWords() {
+        return this.words.clone();
+    }
+
+    boolean contains(int epochDay) {
+        long offset = (long) epochDay - this.firstDay;
+        if (offset < 0 || offset >= (long) this.words.length << 6) { return false; }
+
+        return (this.words[(int) (offset >>> 6)] & (1L << offset)) != 0;
+    }
+
+    int size() {
+        int size = 0;
+        for (long word : this.words) {
+            size += Long.bitCount(word);
+        }
+
+        return size;
+    }
+
+    /**
+     * Returns the holidays as ascending epoch days.
+     */
+    int[] epochDays() {
+        int[] epochDays = new int[size()];
+        int count = 0;
+        for (int i = 0; i < this.words.length; i++) {
+            for (long word = this.words[i]; word != 0; word &= word - 1) {
+                epochDays[count++] = this.firstDay + (i << 6) + Long.numberOfTrailingZeros(word);
+            }
+        }
+
+        return epochDays;
+    }
+
+    Set<CalendarDate> toCalendarDates() {
+        Set<CalendarDate> days = new HashSet<CalendarDate>();
+        for (int epochDay : epochDays()) {
+            days.add(EpochDays.toCalendarDate(epochDay));
+        }
+
+        return days;
+    }
+
+    HolidayBitmap union(HolidayBitmap other) {
+        if (other.words.length == 0) { return this; }
+        if (this.words.length == 0) { return other; }
+
+        int newFirstDay = Math.min(this.firstDay, other.firstDay);
+        int newEndDay = Math.max(this.endDay(), other.endDay());
+
+        long[] newWords = new long[(newEndDay - newFirstDay) >>> 6];
+        orInto(newWords, newFirstDay);
+        other.orInto(newWords, newFirstDay);
+
+        return new HolidayBitmap(newFirstDay, newWords);
+    }
+
+    HolidayBitmap intersection(HolidayBitmap other) {
+        int newFirstDay = Math.max(this.firstDay, other.firstDay);
+        int newEndDay = Math.min(this.endDay(), other.endDay());
+        if (newEndDay <= newFirstDay) { return EMPTY; }
+
+        long[] newWords = new long[(newEndDay - newFirstDay) >>> 6];
+        for (int i = 0; i < newWords.length; i++) {
+            newWords[i] = this.words[((newFirstDay - this.firstDay) >>> 6) + i]
+                    & other.words[((newFirstDay - other.firstDay) >>> 6) + i];
+        }
+
+        return new HolidayBitmap(newFirstDay, newWords);
+    }
+
+    HolidayBitmap with(Set<CalendarDate> days) {
+        if (days.isEmpty()) { return this; }
+
+        int[] epochDays = toEpochDays(days);
+        int min = epochDays[0];
+        int max = epochDays[0];
+        for (int epochDay : epochDays) {
+            min = Math.min(min, epochDay);
+            max = Math.max(max, epochDay);
+        }
+
+        int newFirstDay = alignedFloor(this.words.length == 0 ? min : Math.min(min, this.firstDay));
+        int newLastDay = this.words.length == 0 ? max : Math.max(max, this.firstDay + (this.words.length << 6) - 1);
+
+        long[] newWords = new long[(int) (((long) newLastDay - newFirstDay) >>> 6) + 1];
+        if (this.words.length > 0) {
+            System.arraycopy(this.words, 0, newWords, (this.firstDay - newFirstDay) >>> 6, this.words.length);
+        }
+        for (int epochDay : epochDays) {
+            int offset = epochDay - newFirstDay;
+            newWords[offset >>> 6] |= 1L << offset;
+        }
+
+        return new HolidayBitmap(newFirstDay, newWords);
+    }
+
+    HolidayBitmap without(Set<CalendarDate> days) {
+        long[] newWords = this.words.clone();
+        for (CalendarDate day : days) {
+            int epochDay = EpochDayArrays.keyOf(day);
+            if (contains(epochDay)) {
+                int offset = epochDay - this.firstDay;
+                newWords[offset >>> 6] &= ~(1L << offset);
+            }
+        }
+
+        return new HolidayBitmap(this.firstDay, newWords);
+    }
+
+    private int endDay() {
+        return this.firstDay + (this.words.length << 6);
+    }
+
+    private void orInto(long[] target, int targetFirstDay) {
+        int start = (this.firstDay - targetFirstDay) >>> 6;
+        for (int i = 0; i < this.words.length; i++) {
+            target[start + i] |= this.words[i];
+        }
+    }
+
+    private static int[] toEpochDays(Set<CalendarDate> days) {
+        int[] epochDays = new int[days.size()];
+        int i = 0;
+        for (CalendarDate day : days) {
+            epochDays[i++] = EpochDayArrays.keyOf(day);
+        }
+
+        return epochDays;
+    }
+
+    private static int alignedFloor(int epochDay) {
+        return epochDay & ~63;
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.concepts.domain.time;
+
+/**
+ * A {@link HolidayRule} generates the date of a recurring holiday for any given year, such as "25th of December",
+ * "fourth Thursday of November" or "Good Friday". A {@link BusinessCalendar} evaluates its rules lazily, one year at a
+ * time, the first time a date of that year is queried.
+ * <p>
+ * {@link HolidayRules} provides the common kinds of rules.
+ * 
+ * @see BusinessCalendar#setHolidayRules()
+ */
+public interface HolidayRule {
+
+    /**
+     * Returns the date on which the holiday is observed for {@code year}. An observed date may fall into the year
+     * before or after, such as a New Year's Day moved from a Saturday to the preceding Friday.
+     * 
+     * @param year
+     *            Year to generate the holiday for.
+     * @return Date of the holiday, or {@code null} if there is no such holiday in {@code year}.
+     */
+    CalendarDate dateIn(int year);
+
+}
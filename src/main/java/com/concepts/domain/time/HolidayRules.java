@@ -0,0 +1,160 @@
+package com.concepts.domain.time;
+
+import java.util.Calendar;
+
+import com.concepts.domain.support.Assert;
+
+
+/**
+ * Factory of the common kinds of {@link HolidayRule}s. Days of the week are given as the {@link Calendar} constants
+ * {@link Calendar#MONDAY} to {@link Calendar#SUNDAY}, months start from 1 as for {@link CalendarDate}. All dates are
+ * computed arithmetically, without {@link Calendar} instances.
+ * 
+ * @see HolidayRule
+ */
+public final class HolidayRules {
+
+    private HolidayRules() {
+    }
+
+    /**
+     * Holiday on the same day every year, such as Christmas Day on 25th of December.
+     */
+    public static HolidayRule fixed(final int month, final int day) {
+        assertIsMonth(month);
+        Assert.isTrue(day >= 1 && day <= EpochDays.lengthOfMonth(2000, month), "Day " + day
+                + " does not exist in month " + month);
+
+        return new HolidayRule() {
+
+            public CalendarDate dateIn(int year) {
+                if (month == 2 && day == 29 && !EpochDays.isLeapYear(year)) { return null; }
+
+                return CalendarDate.from(year, month, day);
+            }
+        };
+    }
+
+    /**
+     * Holiday on the {@code n}-th given day of the week of a month, such as Thanksgiving on the fourth Thursday of
+     * November. There is no holiday in years where the month has less than {@code n} such days.
+     */
+    public static HolidayRule nthDayOfWeek(final int n, int dayOfWeek, final int month) {
+        Assert.isTrue(n >= 1 && n <= 5, "Occurrence of day of the week must be between 1 and 5");
+        assertIsMonth(month);
+        final int isoDayOfWeek = EpochDays.dayOfWeekOf(dayOfWeek);
+
+        return new HolidayRule() {
+
+            public CalendarDate dateIn(int year) {
+                int first = EpochDays.of(year, month, 1);
+                int offset = (isoDayOfWeek - EpochDays.dayOfWeek(first) + 7) % 7 + 7 * (n - 1);
+                if (offset >= EpochDays.lengthOfMonth(year, month)) { return null; }
+
+                return CalendarDate.from(year, month, offset + 1);
+            }
+        };
+    }
+
+    /**
+     * Holiday on the last given day of the week of a month, such as Memorial Day on the last Monday of May.
+     */
+    public static HolidayRule lastDayOfWeek(int dayOfWeek, final int month) {
+        assertIsMonth(month);
+        final int isoDayOfWeek = EpochDays.dayOfWeekOf(dayOfWeek);
+
+        return new HolidayRule() {
+
+            public CalendarDate dateIn(int year) {
+                int length = EpochDays.lengthOfMonth(year, month);
+                int last = EpochDays.of(year, month, length);
+                int offset = (EpochDays.dayOfWeek(last) - isoDayOfWeek + 7) % 7;
+
+                return CalendarDate.from(year, month, length - offset);
+            }
+        };
+    }
+
+    /**
+     * Holiday a number of days from Easter Sunday of the Gregorian calendar, such as Good Friday at -2 or Easter
+     * Monday at 1.
+     */
+    public static HolidayRule easterOffset(final int days) {
+        return new HolidayRule() {
+
+            public CalendarDate dateIn(int year) {
+                return EpochDays.toCalendarDate(easterSunday(year) + days);
+            }
+        };
+    }
+
+    /**
+     * Moves a holiday falling on a Saturday to the preceding Friday and one falling on a Sunday to the following
+     * Monday, as is common in the United States.
+     */
+    public static HolidayRule observedOnNearestWeekday(final HolidayRule rule) {
+        Assert.notNull(rule, "Holiday rule cannot be null");
+
+        return new HolidayRule() {
+
+            public CalendarDate dateIn(int year) {
+                CalendarDate date = rule.dateIn(year);
+                if (date == null) { return null; }
+
+                int epochDay = date.toEpochDay();
+                switch (EpochDays.dayOfWeek(epochDay)) {
+                case 5:
+                    return EpochDays.toCalendarDate(epochDay - 1);
+                case 6:
+                    return EpochDays.toCalendarDate(epochDay + 1);
+                default:
+                    return date;
+                }
+            }
+        };
+    }
+
+    /**
+     * Moves a holiday falling on a Saturday or a Sunday to the following Monday, as is common in the United Kingdom.
+     */
+    public static HolidayRule observedOnNextWeekday(final HolidayRule rule) {
+        Assert.notNull(rule, "Holiday rule cannot be null");
+
+        return new HolidayRule() {
+
+            public CalendarDate dateIn(int year) {
+                CalendarDate date = rule.dateIn(year);
+                if (date == null) { return null; }
+
+                int epochDay = date.toEpochDay();
+                int dayOfWeek = EpochDays.dayOfWeek(epochDay);
+
+                return (dayOfWeek < 5) ? date : EpochDays.toCalendarDate(epochDay + 7 - dayOfWeek);
+            }
+        };
+    }
+
+    static int easterSunday(int year) {
+        int a = year % 19;
+        int b = year / 100;
+        int c = year % 100;
+        int d = b / 4;
+        int e = b % 4;
+        int f = (b + 8) / 25;
+        int g = (b - f + 1) / 3;
+        int h = (19 * a + b - d - g + 15) % 30;
+        int i = c / 4;
+        int k = c % 4;
+        int l = (32 + 2 * e + 2 * i - h - k) % 7;
+        int m = (a + 11 * h + 22 * l) / 451;
+        int month = (h + l - 7 * m + 114) / 31;
+        int day = (h + l - 7 * m + 114) % 31 + 1;
+
+        return EpochDays.of(year, month, day);
+    }
+
+    private static void assertIsMonth(int month) {
+        Assert.isTrue(month >= 1 && month <= 12, "Month of the year must be between 1 and 12");
+    }
+
+}
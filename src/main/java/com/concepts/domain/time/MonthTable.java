@@ -0,0 +1,99 @@
+package com.concepts.domain.time;
+
+/**
+ * Month boundaries of a {@link BusinessCalendar} over the years of its {@link BusinessDayIndex}. For every month,
+ * keyed by {@code year * 12 + month}, the table holds the first and last calendar day and the first and last business
+ * day, so that month end roll logic is answered by array lookups returning shared instances.
+ * <p>
+ * Business days that fall outside the index are not recorded and must be computed by the calendar. The table belongs to
+ * one set of holidays, the owning calendar discards it when its holidays change.
+ *
+ * @see BusinessCalendar
+ */
+final class MonthTable {
+
+    private final int firstMonth;
+    private final CalendarDate[] firstDays;
+    private final CalendarDate[] lastDays;
+    private final CalendarDate[] firstBusinessDays;
+    private final CalendarDate[] lastBusinessDays;
+
+    static MonthTable build(BusinessDayIndex index) {
+        CalendarDate first = EpochDays.toCalendarDate(index.getFirstDay());
+        CalendarDate last = EpochDays.toCalendarDate(index.getLastDay());
+        int firstMonth = monthKey(first.getYear(), first.getMonth());
+        int numberOfMonths = monthKey(last.getYear(), last.getMonth()) - firstMonth + 1;
+
+        MonthTable table = new MonthTable(firstMonth, numberOfMonths);
+        int lastOrdinal = index.ordinal(index.getLastDay() + 1);
+        for (int i = 0; i < numberOfMonths; i++) {
+            int year = (firstMonth + i) / 12;
+            int month = (firstMonth + i) % 12 + 1;
+            int firstDay = EpochDays.of(year, month, 1);
+            int lastDay = firstDay + EpochDays.lengthOfMonth(year, month) - 1;
+
+            table.firstDays[i] = EpochDays.toCalendarDate(firstDay);
+            table.lastDays[i] = EpochDays.toCalendarDate(lastDay);
+
+            int firstOrdinal = index.ordinal(firstDay);
+            if (firstOrdinal < lastOrdinal) {
+                table.firstBusinessDays[i] = EpochDays.toCalendarDate(index.businessDayAt(firstOrdinal));
+            }
+
+            int ordinalAfter = index.ordinal(lastDay + 1);
+            if (ordinalAfter > 0) {
+                table.lastBusinessDays[i] = EpochDays.toCalendarDate(index.businessDayAt(ordinalAfter - 1));
+            }
+        }
+
+        return table;
+    }
+
+    private MonthTable(int firstMonth, int numberOfMonths) {
+        this.firstMonth = firstMonth;
+        this.firstDays = new CalendarDate[numberOfMonths];
+        this.lastDays = new CalendarDate[numberOfMonths];
+        this.firstBusinessDays = new CalendarDate[numberOfMonths];
+        this.lastBusinessDays = new CalendarDate[numberOfMonths];
+    }
+
+    /**
+     * Returns the position of the month of {@code date} in the table, or -1 if the table does not cover it.
+     */
+    int indexOf(CalendarDate date) {
+        int year = date.getYear();
+        int month = date.getMonth();
+        if (date.getDay() > EpochDays.lengthOfMonth(year, month)) { return -1; }
+
+        int index = monthKey(year, month) - this.firstMonth;
+
+        return (index >= 0 && index < this.firstDays.length) ? index : -1;
+    }
+
+    CalendarDate firstDayAt(int index) {
+        return this.firstDays[index];
+    }
+
+    CalendarDate lastDayAt(int index) {
+        return this.lastDays[index];
+    }
+
+    /**
+     * Returns the first business day on or after the first day of the month, or {@code null} if it is not indexed.
+     */
+    CalendarDate firstBusinessDayAt(int index) {
+        return this.firstBusinessDays[index];
+    }
+
+    /**
+     * Returns the last business day on or before the last day of the month, or {@code null} if it is not indexed.
+     */
+    CalendarDate lastBusinessDayAt(int index) {
+        return this.lastBusinessDays[index];
+    }
+
+    private static int monthKey(int year, int month) {
+        return year * 12 + month - 1;
+    }
+
+}
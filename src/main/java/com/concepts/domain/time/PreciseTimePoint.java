@@ -0,0 +1,170 @@
+package com.concepts.domain.time;
+
+import java.io.Serializable;
+
+import com.concepts.domain.support.Assert;
+
+
+/**
+ * A point in time with nanosecond precision, for timestamps and latencies finer than the milliseconds of a
+ * {@link TimePoint}. The point is kept as a single {@code long} of nanoseconds since 1970-01-01 00:00 UTC, which covers
+ * the years 1677 to 2262.
+ * <p>
+ * A {@link PreciseTimePoint} converts from and to a {@link TimePoint}, and moves by {@link Duration}s measured in
+ * milliseconds or finer units.
+ *
+ * @see TimePoint
+ * @see com.concepts.domain.time.support.MonotonicClock
+ */
+public final class PreciseTimePoint implements Comparable<PreciseTimePoint>, Serializable {
+
+    private static final long serialVersionUID = -3394758121562468219L;
+
+    private static final long NANOSECONDS_PER_SECOND = 1000000000L;
+    private static final long NANOSECONDS_PER_MILLISECOND = 1000000L;
+
+    private static final Duration ONE_MILLISECOND = Duration.milliseconds(1);
+
+    private final long nanosecondsFromEpoc;
+
+    public static PreciseTimePoint fromNanoseconds(long nanosecondsFromEpoc) {
+        return new PreciseTimePoint(nanosecondsFromEpoc);
+    }
+
+    /**
+     * Returns the point {@code nanosecond} nanoseconds after the start of the second {@code epochSecond}.
+     *
+     * @throws IllegalArgumentException
+     *             If {@code nanosecond} is not between 0 and 999,999,999 or the point is out of range.
+     */
+    public static PreciseTimePoint of(long epochSecond, int nanosecond) {
+        if (nanosecond < 0 || nanosecond >= NANOSECONDS_PER_SECOND) {
+            throw new IllegalArgumentException("Nanosecond " + nanosecond + " is not between 0 and 999999999");
+        }
+
+        return new PreciseTimePoint(toNanoseconds(epochSecond, NANOSECONDS_PER_SECOND, nanosecond));
+    }
+
+    public static PreciseTimePoint from(TimePoint timePoint) {
+        Assert.notNull(timePoint, "Time point cannot be null");
+
+        return new PreciseTimePoint(toNanoseconds(timePoint.getMillisecondsFromEpoc(), NANOSECONDS_PER_MILLISECOND, 0));
+    }
+
+    private PreciseTimePoint(long nanosecondsFromEpoc) {
+        this.nanosecondsFromEpoc = nanosecondsFromEpoc;
+    }
+
+    public long getNanosecondsFromEpoc() {
+        return this.nanosecondsFromEpoc;
+    }
+
+    public long getEpochSecond() {
+        return Math.floorDiv(this.nanosecondsFromEpoc, NANOSECONDS_PER_SECOND);
+    }
+
+    /**
+     * Returns the nanosecond within the second, from 0 to 999,999,999.
+     */
+    public int getNanosecond() {
+        return (int) Math.floorMod(this.nanosecondsFromEpoc, NANOSECONDS_PER_SECOND);
+    }
+
+    /**
+     * Returns the {@link TimePoint} of the millisecond containing this point.
+     */
+    public TimePoint asTimePoint() {
+        return TimePoint.from(Math.floorDiv(this.nanosecondsFromEpoc, NANOSECONDS_PER_MILLISECOND));
+    }
+
+    public PreciseTimePoint plus(Duration duration) {
+        return plusNanoseconds(toNanoseconds(duration));
+    }
+
+    public PreciseTimePoint minus(Duration duration) {
+        return plusNanoseconds(-toNanoseconds(duration));
+    }
+
+    public PreciseTimePoint plusNanoseconds(long nanoseconds) {
+        return new PreciseTimePoint(toNanoseconds(this.nanosecondsFromEpoc, 1, nanoseconds));
+    }
+
+    /**
+     * Returns the number of nanoseconds from this point to {@code other}, negative if {@code other} is before this
+     * point.
+     */
+    public long nanosecondsUntil(PreciseTimePoint other) {
+        return other.nanosecondsFromEpoc - this.nanosecondsFromEpoc;
+    }
+
+    /**
+     * Returns the time from this point to {@code later} in whole milliseconds.
+     *
+     * @throws IllegalArgumentException
+     *             If {@code later} is before this point.
+     */
+    public Duration durationUntil(PreciseTimePoint later) {
+        if (later.isBefore(this)) { throw new IllegalArgumentException(later + " is before " + this); }
+
+        return Duration.milliseconds(nanosecondsUntil(later) / NANOSECONDS_PER_MILLISECOND);
+    }
+
+    public boolean isAfter(PreciseTimePoint other) {
+        return this.nanosecondsFromEpoc > other.nanosecondsFromEpoc;
+    }
+
+    public boolean isBefore(PreciseTimePoint other) {
+        return this.nanosecondsFromEpoc < other.nanosecondsFromEpoc;
+    }
+
+    public int compareTo(PreciseTimePoint other) {
+        return Long.compare(this.nanosecondsFromEpoc, other.nanosecondsFromEpoc);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (object == null) { return false; }
+        if (this == object) { return true; }
+        if (!(object instanceof PreciseTimePoint)) { return false; }
+
+        PreciseTimePoint other = (PreciseTimePoint) object;
+
+        return this.nanosecondsFromEpoc == other.nanosecondsFromEpoc;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (this.nanosecondsFromEpoc ^ (this.nanosecondsFromEpoc >>> 32));
+    }
+
+    /**
+     * Returns the seconds since the epoch with nine decimals, e.g. {@code 1293840000.000000250}.
+     */
+    @Override
+    public String toString() {
+        long seconds = this.nanosecondsFromEpoc / NANOSECONDS_PER_SECOND;
+        String nanosecond = Long.toString(Math.abs(this.nanosecondsFromEpoc % NANOSECONDS_PER_SECOND));
+        String sign = (this.nanosecondsFromEpoc < 0 && seconds == 0) ? "-" : "";
+
+        return sign + seconds + "." + "000000000".substring(nanosecond.length()) + nanosecond;
+    }
+
+    private static long toNanoseconds(Duration duration) {
+        Assert.notNull(duration, "Duration cannot be null");
+        if (!duration.hasConvertibleTimeUnit(ONE_MILLISECOND)) {
+            throw new IllegalArgumentException(duration + " is not convertible to nanoseconds");
+        }
+
+        return toNanoseconds(duration.inBaseUnits(), NANOSECONDS_PER_MILLISECOND, 0);
+    }
+
+    private static long toNanoseconds(long amount, long nanosecondsPerUnit, long nanoseconds) {
+        try {
+            return Math.addExact(Math.multiplyExact(amount, nanosecondsPerUnit), nanoseconds);
+        }
+        catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Time point is out of range", e);
+        }
+    }
+
+}
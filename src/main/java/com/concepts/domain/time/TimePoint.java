@@ -1,11 +1,11 @@
 package com.concepts.domain.time;
 
 import java.io.Serializable;
-import java.text.DateFormat;
-import java.text.ParsePosition;
-import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.TimeZone;
+
+import com.concepts.domain.support.Assert;
 
 
 /**
@@ -37,8 +37,48 @@ public class TimePoint implements Comparable<TimePoint>, Serializable {
         return at(year, month, date, hour, minute, second, 0);
     }
 
+    /**
+     * Returns the time point of a local time in the default time zone. Fields out of their range are carried over
+     * like in a lenient {@link Calendar}.
+     */
     public static TimePoint at(int year, int month, int date, int hour, int minute, int second, int millisecond) {
-        Calendar calendar = Calendar.getInstance();
+        return at(year, month, date, hour, minute, second, millisecond, TimeZone.getDefault());
+    }
+
+    public static TimePoint atMidnight(int year, int month, int date, TimeZone zone) {
+        return at(year, month, date, 0, 0, 0, 0, zone);
+    }
+
+    public static TimePoint at(int year, int month, int date, int hour, int minute, int second, TimeZone zone) {
+        return at(year, month, date, hour, minute, second, 0, zone);
+    }
+
+    /**
+     * Returns the time point of a local time in {@code zone}. Local times from 1900 to 2100 are converted with the
+     * cached offset transitions of the zone, without creating a {@link Calendar} or reading the default time zone;
+     * other times go through a {@link Calendar}. In both cases fields out of their range are carried over like in a
+     * lenient {@link Calendar}, a local time skipped by a daylight saving gap is read with the offset before the gap
+     * and a local time repeated by an overlap stands for its later instant.
+     *
+     * @param zone
+     *            Time zone of the local time.
+     * @return Time point of the local time.
+     */
+    public static TimePoint at(int year, int month, int date, int hour, int minute, int second, int millisecond,
+            TimeZone zone) {
+        Assert.notNull(zone, "Time zone cannot be null");
+
+        if (month >= 1 && month <= 12 && year >= ZoneOffsetTable.FIRST_YEAR - 1
+                && year <= ZoneOffsetTable.LAST_YEAR + 1) {
+            long epochDay = EpochDays.of(year, month, 1) + (long) date - 1;
+            long local = epochDay * TimeUnitConversionFactors.MILLISECONDS_PER_DAY + hour
+                    * TimeUnitConversionFactors.MILLISECONDS_PER_HOUR + minute
+                    * TimeUnitConversionFactors.MILLISECONDS_PER_MINUTE + second
+                    * TimeUnitConversionFactors.MILLISECONDS_PER_SECOND + millisecond;
+            if (ZoneOffsetTable.covers(local)) { return new TimePoint(ZoneOffsetTable.of(zone).toInstant(local)); }
+        }
+
+        Calendar calendar = Calendar.getInstance(zone);
         calendar.set(Calendar.YEAR, year);
         calendar.set(Calendar.MONTH, month - 1);
         calendar.set(Calendar.DATE, date);
@@ -50,11 +90,15 @@ public class TimePoint implements Comparable<TimePoint>, Serializable {
         return from(calendar);
     }
 
+    /**
+     * Parses {@code dateString} with a {@link DatePattern} compiled from {@code pattern}, as local time in the default
+     * time zone.
+     *
+     * @throws IllegalArgumentException
+     *             If the text does not match the pattern or is no valid time.
+     */
     public static TimePoint parseFrom(String dateString, String pattern) {
-        DateFormat format = new SimpleDateFormat(pattern);
-        Date date = format.parse(dateString, new ParsePosition(0));
-
-        return from(date);
+        return DatePattern.compile(pattern).parseTimePoint(dateString);
     }
 
     public static TimePoint from(Date javaDate) {
@@ -74,6 +118,13 @@ public class TimePoint implements Comparable<TimePoint>, Serializable {
         this.millisecondsFromEpoc = milliseconds;
     }
 
+    /**
+     * Returns the milliseconds since 1970-01-01 00:00 UTC, the inverse of {@link #from(long)}.
+     */
+    public long getMillisecondsFromEpoc() {
+        return this.millisecondsFromEpoc;
+    }
+
     public Date asJavaDate() {
         return new Date(this.millisecondsFromEpoc);
     }
@@ -85,6 +136,15 @@ public class TimePoint implements Comparable<TimePoint>, Serializable {
         return calendar;
     }
 
+    public Calendar asJavaCalendar(TimeZone zone) {
+        Assert.notNull(zone, "Time zone cannot be null");
+
+        Calendar calendar = Calendar.getInstance(zone);
+        calendar.setTimeInMillis(this.millisecondsFromEpoc);
+
+        return calendar;
+    }
+
     public boolean isAfter(TimePoint other) {
         return this.millisecondsFromEpoc > other.millisecondsFromEpoc;
     }
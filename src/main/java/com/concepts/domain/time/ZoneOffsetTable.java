@@ -0,0 +1,194 @@
+package com.concepts.domain.time;
+
+import java.util.Arrays;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+
+/**
+ * The offset transitions of a {@link TimeZone} from {@value #FIRST_YEAR} to {@value #LAST_YEAR}, precomputed once per
+ * zone so that conversions between epoch milliseconds and local time are binary searches over two arrays, without
+ * {@link java.util.Calendar} instances. Local times falling into a gap or an overlap are resolved like
+ * {@link java.util.GregorianCalendar} does.
+ * <p>
+ * Tables are cached by zone id and rules, so zones sharing an id but not their rules, such as custom
+ * {@link java.util.SimpleTimeZone}s, each keep their table. A table is found by the identity of the zone it was built
+ * for before the rules are compared, so a zone must not be modified once it has been used for conversions. Instants
+ * outside the covered years are converted by the zone itself.
+ */
+final class ZoneOffsetTable {
+
+    static final int FIRST_YEAR = 1900;
+    static final int LAST_YEAR = 2100;
+
+    private static final int MAX_TABLES_PER_ID = 8;
+    private static final ConcurrentMap<String, ZoneOffsetTable[]> CACHE =
+            new ConcurrentHashMap<String, ZoneOffsetTable[]>();
+
+    private static final long FIRST_MILLISECOND = EpochDays.of(FIRST_YEAR, 1, 1)
+            * TimeUnitConversionFactors.MILLISECONDS_PER_DAY;
+    private static final long END_MILLISECOND = EpochDays.of(LAST_YEAR + 1, 1, 1)
+            * TimeUnitConversionFactors.MILLISECONDS_PER_DAY;
+    private static final long FIRST_SCANNED_MILLISECOND = FIRST_MILLISECOND
+            - TimeUnitConversionFactors.MILLISECONDS_PER_DAY;
+    private static final long END_SCANNED_MILLISECOND = END_MILLISECOND
+            + TimeUnitConversionFactors.MILLISECONDS_PER_DAY;
+    private static final long SCAN_STEP = TimeUnitConversionFactors.MILLISECONDS_PER_HOUR * 6;
+
+    private final TimeZone zone;
+    private final TimeZone rules;
+    private final long[] transitions;
+    private final int[] offsets;
+    private final long[] localTransitions;
+
+    /**
+     * Returns the table of {@code zone}, building it on first use. Up to {@value #MAX_TABLES_PER_ID} tables with
+     * different rules are cached per zone id, tables for further rules are built on every call.
+     */
+    static ZoneOffsetTable of(TimeZone zone) {
+        String id = zone.getID();
+        ZoneOffsetTable[] tables = CACHE.get(id);
+        if (tables != null) {
+            for (ZoneOffsetTable table : tables) {
+                if (table.zone == zone) { return table; }
+            }
+            for (ZoneOffsetTable table : tables) {
+                if (table.rules.hasSameRules(zone)) { return table; }
+            }
+        }
+
+        ZoneOffsetTable table = new ZoneOffsetTable(zone, (TimeZone) zone.clone());
+        cache(id, table);
+
+        return table;
+    }
+
+    /**
+     * Adds {@code table} to the tables cached for {@code id}, unless there are too many of them already.
+     */
+    private static void cache(String id, ZoneOffsetTable table) {
+        while (true) {
+            ZoneOffsetTable[] current = CACHE.get(id);
+            if (current == null) {
+                if (CACHE.putIfAbsent(id, new ZoneOffsetTable[] { table }) == null) { return; }
+            }
+            else {
+                if (current.length >= MAX_TABLES_PER_ID) { return; }
+
+                ZoneOffsetTable[] next = Arrays.copyOf(current, current.length + 1);
+                next[current.length] = table;
+                if (CACHE.replace(id, current, next)) { return; }
+            }
+        }
+    }
+
+    /**
+     * Creates the table of {@code zone}, computed from {@code rules}, a copy of {@code zone} that nobody else can
+     * modify.
+     */
+    private ZoneOffsetTable(TimeZone zone, TimeZone rules) {
+        long[] foundTransitions = new long[64];
+        int[] foundOffsets = new int[65];
+        int count = 0;
+
+        int offset = rules.getOffset(FIRST_SCANNED_MILLISECOND);
+        foundOffsets[0] = offset;
+        for (long start = FIRST_SCANNED_MILLISECOND; start < END_SCANNED_MILLISECOND; start += SCAN_STEP) {
+            int next = rules.getOffset(start + SCAN_STEP);
+            if (next != offset) {
+                if (count == foundTransitions.length) {
+                    foundTransitions = Arrays.copyOf(foundTransitions, count * 2);
+                    foundOffsets = Arrays.copyOf(foundOffsets, count * 2 + 1);
+                }
+                foundTransitions[count] = transitionBetween(rules, start, start + SCAN_STEP, offset);
+                foundOffsets[++count] = next;
+                offset = next;
+            }
+        }
+
+        this.zone = zone;
+        this.rules = rules;
+        this.transitions = Arrays.copyOf(foundTransitions, count);
+        this.offsets = Arrays.copyOf(foundOffsets, count + 1);
+        this.localTransitions = new long[count];
+        for (int i = 0; i < count; i++) {
+            this.localTransitions[i] = this.transitions[i] + this.offsets[i + 1];
+        }
+    }
+
+    /**
+     * Returns whether the local time {@code localMillisecond}, counted in milliseconds from 1970-01-01 00:00 local
+     * time, lies within the covered years.
+     */
+    static boolean covers(long localMillisecond) {
+        return localMillisecond >= FIRST_MILLISECOND && localMillisecond < END_MILLISECOND;
+    }
+
+    /**
+     * Returns the offset from UTC in milliseconds in effect at the epoch millisecond {@code instant}.
+     */
+    int offsetAt(long instant) {
+        if (instant < FIRST_SCANNED_MILLISECOND || instant >= END_SCANNED_MILLISECOND) {
+            return this.rules.getOffset(instant);
+        }
+
+        return this.offsets[upperBound(this.transitions, instant)];
+    }
+
+    /**
+     * Returns the local time at the epoch millisecond {@code instant}, in milliseconds from 1970-01-01 00:00 local
+     * time.
+     */
+    long toLocal(long instant) {
+        return instant + offsetAt(instant);
+    }
+
+    /**
+     * Returns the epoch millisecond of the local time {@code localMillisecond}, counted in milliseconds from
+     * 1970-01-01 00:00 local time and lying within the covered years. A local time skipped by a gap is read with the
+     * offset before the gap, a local time repeated by an overlap stands for its later instant.
+     */
+    long toInstant(long localMillisecond) {
+        return localMillisecond - this.offsets[upperBound(this.localTransitions, localMillisecond)];
+    }
+
+    /**
+     * Returns the number of values in {@code sorted} less than or equal to {@code value}.
+     */
+    private static int upperBound(long[] sorted, long value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] <= value) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Returns the first millisecond after {@code from} and up to {@code to} whose offset differs from {@code offset}.
+     */
+    private static long transitionBetween(TimeZone zone, long from, long to, int offset) {
+        long low = from;
+        long high = to;
+        while (high - low > 1) {
+            long middle = low + (high - low) / 2;
+            if (zone.getOffset(middle) == offset) {
+                low = middle;
+            }
+            else {
+                high = middle;
+            }
+        }
+
+        return high;
+    }
+
+}
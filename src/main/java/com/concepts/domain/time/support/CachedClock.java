@@ -0,0 +1,112 @@
+package com.concepts.domain.time.support;
+
+import java.io.Closeable;
+import java.util.concurrent.locks.LockSupport;
+
+import com.concepts.domain.support.Assert;
+import com.concepts.domain.time.Duration;
+import com.concepts.domain.time.TimePoint;
+import com.concepts.domain.time.TimeSource;
+
+
+/**
+ * {@link TimeSource} serving the system time cached by a background ticker thread, for code asking for the time at
+ * high rates. {@link #now()} returns a prebuilt {@link TimePoint} and {@link #millisecondsFromEpoc()} a {@code long},
+ * both read from volatile fields without creating objects or calling into the operating system.
+ * <p>
+ * The cached time is stale by up to the resolution of the clock, plus however long the ticker thread waits to be
+ * scheduled. Under heavy load or during garbage collection pauses the staleness can therefore exceed the resolution;
+ * callers needing exact timestamps should use {@link SystemClock} or {@link MonotonicClock} instead. The cached time
+ * follows the system clock, including its adjustments.
+ * <p>
+ * A clock ticks from {@link #start(Duration)} until {@link #close()}. The ticker is a daemon thread and does not keep
+ * the JVM alive.
+ */
+public class CachedClock implements TimeSource, Closeable {
+
+    private static final long NANOSECONDS_PER_MILLISECOND = 1000000L;
+
+    private final Duration resolution;
+    private final Thread ticker;
+    private volatile long millisecondsFromEpoc;
+    private volatile TimePoint now;
+    private volatile boolean running = true;
+
+    /**
+     * Starts a clock updating the cached time every {@code resolution}.
+     *
+     * @param resolution
+     *            Interval between updates, of at least one millisecond.
+     * @return Running clock.
+     */
+    public static CachedClock start(Duration resolution) {
+        Assert.notNull(resolution, "Resolution cannot be null");
+        Assert.isTrue(resolution.hasConvertibleTimeUnit(Duration.milliseconds(1))
+                && resolution.inBaseUnits() >= 1, "Resolution " + resolution + " must be at least one millisecond");
+
+        CachedClock clock = new CachedClock(resolution);
+        clock.ticker.start();
+
+        return clock;
+    }
+
+    CachedClock(Duration resolution) {
+        this.resolution = resolution;
+        this.ticker = new Thread(new Runnable() {
+
+            public void run() {
+                tick();
+            }
+        }, "cached-clock-ticker");
+        this.ticker.setDaemon(true);
+
+        update();
+    }
+
+    /**
+     * Returns the cached time, stale by up to the resolution plus the scheduling delay of the ticker.
+     */
+    public TimePoint now() {
+        return this.now;
+    }
+
+    /**
+     * Returns the cached time in milliseconds since the epoch, stale by up to the resolution plus the scheduling delay
+     * of the ticker.
+     */
+    public long millisecondsFromEpoc() {
+        return this.millisecondsFromEpoc;
+    }
+
+    public Duration getResolution() {
+        return this.resolution;
+    }
+
+    /**
+     * Stops the ticker. The clock keeps serving the last cached time.
+     */
+    public void close() {
+        this.running = false;
+        LockSupport.unpark(this.ticker);
+    }
+
+    private void tick() {
+        long resolutionNanoseconds = this.resolution.inBaseUnits() * NANOSECONDS_PER_MILLISECOND;
+        while (this.running) {
+            LockSupport.parkNanos(this, resolutionNanoseconds);
+            update();
+        }
+    }
+
+    /**
+     * Caches the system time, building a new {@link TimePoint} only when the millisecond has changed.
+     */
+    private void update() {
+        long milliseconds = System.currentTimeMillis();
+        if (this.now != null && milliseconds == this.millisecondsFromEpoc) { return; }
+
+        this.millisecondsFromEpoc = milliseconds;
+        this.now = TimePoint.from(milliseconds);
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.concepts.domain.time.support;
+
+import com.concepts.domain.time.PreciseTimePoint;
+import com.concepts.domain.time.TimePoint;
+import com.concepts.domain.time.TimeSource;
+
+
+/**
+ * {@link TimeSource} reading {@link System#nanoTime()}, anchored to the system clock once when the clock is created.
+ * Time never goes backwards and is unaffected by later adjustments of the system clock, which makes the clock suitable
+ * for measuring latencies. In exchange it drifts from the system clock by however much the system clock is adjusted
+ * after the anchor is taken.
+ *
+ * @see SystemClock
+ */
+public class MonotonicClock implements TimeSource {
+
+    private static final long NANOSECONDS_PER_MILLISECOND = 1000000L;
+
+    private final long anchorNanosecondsFromEpoc;
+    private final long anchorNanoTime;
+
+    public static MonotonicClock timeSource() {
+        return new MonotonicClock();
+    }
+
+    MonotonicClock() {
+        this.anchorNanoTime = System.nanoTime();
+        this.anchorNanosecondsFromEpoc = System.currentTimeMillis() * NANOSECONDS_PER_MILLISECOND;
+    }
+
+    public TimePoint now() {
+        return TimePoint.from(Math.floorDiv(nanosecondsFromEpoc(), NANOSECONDS_PER_MILLISECOND));
+    }
+
+    public PreciseTimePoint preciseNow() {
+        return PreciseTimePoint.fromNanoseconds(nanosecondsFromEpoc());
+    }
+
+    /**
+     * Returns the current time in nanoseconds since the epoch, without creating objects.
+     */
+    public long nanosecondsFromEpoc() {
+        return this.anchorNanosecondsFromEpoc + (System.nanoTime() - this.anchorNanoTime);
+    }
+
+}
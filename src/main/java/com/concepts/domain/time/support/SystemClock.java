@@ -1,19 +1,19 @@
 package com.concepts.domain.time.support;
 
-import java.util.Date;
-
 import com.concepts.domain.time.TimePoint;
 import com.concepts.domain.time.TimeSource;
 
 
 public class SystemClock implements TimeSource {
 
+    private static final SystemClock INSTANCE = new SystemClock();
+
     public static TimeSource timeSource() {
-        return new SystemClock();
+        return INSTANCE;
     }
 
     public TimePoint now() {
-        return TimePoint.from(new Date());
+        return TimePoint.from(System.currentTimeMillis());
     }
 
 }
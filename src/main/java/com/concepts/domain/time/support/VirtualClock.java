@@ -0,0 +1,142 @@
+package com.concepts.domain.time.support;
+
+import com.concepts.domain.support.Assert;
+import com.concepts.domain.time.Duration;
+import com.concepts.domain.time.TimePoint;
+import com.concepts.domain.time.TimeSource;
+
+
+/**
+ * {@link TimeSource} for simulated time, such as replays and backtests. The clock starts at a given time point and is
+ * either frozen, when it only moves by {@link #advance(Duration)} and {@link #advanceTo(TimePoint)}, or running at a
+ * rate relative to real time, e.g. at a rate of 3600 a simulated hour passes every second. Stepping works in both
+ * states, and switching between them keeps the current simulated time.
+ * <p>
+ * Callbacks at simulated deadlines are scheduled with a {@link VirtualScheduler} bound to the clock. The clock is
+ * thread safe.
+ *
+ * @see VirtualScheduler
+ */
+public class VirtualClock implements TimeSource {
+
+    private static final double NANOSECONDS_PER_MILLISECOND = 1000000d;
+
+    private long anchorMillisecondsFromEpoc;
+    private long anchorNanoTime;
+    private double rate;
+
+    public static VirtualClock frozenAt(TimePoint start) {
+        return new VirtualClock(millisecondsOf(start), 0);
+    }
+
+    /**
+     * Returns a clock starting at {@code start} and running {@code rate} times as fast as real time.
+     */
+    public static VirtualClock runningAt(TimePoint start, double rate) {
+        assertValidRate(rate);
+
+        return new VirtualClock(millisecondsOf(start), rate);
+    }
+
+    VirtualClock(long millisecondsFromEpoc, double rate) {
+        this.anchorMillisecondsFromEpoc = millisecondsFromEpoc;
+        this.anchorNanoTime = System.nanoTime();
+        this.rate = rate;
+    }
+
+    public TimePoint now() {
+        return TimePoint.from(millisecondsFromEpoc());
+    }
+
+    public synchronized long millisecondsFromEpoc() {
+        if (this.rate == 0) { return this.anchorMillisecondsFromEpoc; }
+
+        return this.anchorMillisecondsFromEpoc
+                + (long) ((System.nanoTime() - this.anchorNanoTime) * this.rate / NANOSECONDS_PER_MILLISECOND);
+    }
+
+    public synchronized boolean isFrozen() {
+        return this.rate == 0;
+    }
+
+    /**
+     * Returns how many times as fast as real time the clock runs, 0 if it is frozen.
+     */
+    public synchronized double getRate() {
+        return this.rate;
+    }
+
+    /**
+     * Stops the clock at the current simulated time.
+     */
+    public synchronized void freeze() {
+        reanchor(millisecondsFromEpoc(), 0);
+    }
+
+    /**
+     * Lets the clock run from the current simulated time on, {@code rate} times as fast as real time.
+     */
+    public synchronized void run(double rate) {
+        assertValidRate(rate);
+
+        reanchor(millisecondsFromEpoc(), rate);
+    }
+
+    /**
+     * Moves the clock forward by {@code duration}.
+     *
+     * @throws IllegalArgumentException
+     *             If the duration is not measured in milliseconds or finer units.
+     */
+    public synchronized void advance(Duration duration) {
+        Assert.notNull(duration, "Duration cannot be null");
+        if (!duration.hasConvertibleTimeUnit(Duration.milliseconds(1))) {
+            throw new IllegalArgumentException("Cannot advance the clock by " + duration);
+        }
+
+        reanchor(millisecondsFromEpoc() + duration.inBaseUnits(), this.rate);
+    }
+
+    /**
+     * Moves the clock forward to {@code timePoint}.
+     *
+     * @throws IllegalArgumentException
+     *             If {@code timePoint} is before the current simulated time.
+     */
+    public synchronized void advanceTo(TimePoint timePoint) {
+        long milliseconds = millisecondsOf(timePoint);
+        if (milliseconds < millisecondsFromEpoc()) {
+            throw new IllegalArgumentException("Cannot move the clock back to " + timePoint);
+        }
+
+        reanchor(milliseconds, this.rate);
+    }
+
+    /**
+     * Moves the clock forward to {@code millisecondsFromEpoc} unless it is already past it.
+     */
+    synchronized void advanceTo(long millisecondsFromEpoc) {
+        if (millisecondsFromEpoc > millisecondsFromEpoc()) {
+            reanchor(millisecondsFromEpoc, this.rate);
+        }
+    }
+
+    static long millisecondsOf(TimePoint timePoint) {
+        Assert.notNull(timePoint, "Time point cannot be null");
+
+        return timePoint.getMillisecondsFromEpoc();
+    }
+
+    private void reanchor(long millisecondsFromEpoc, double newRate) {
+        this.anchorMillisecondsFromEpoc = millisecondsFromEpoc;
+        this.anchorNanoTime = System.nanoTime();
+        this.rate = newRate;
+    }
+
+    private static void assertValidRate(double rate) {
+        if (!(rate > 0) || Double.isInfinite(rate)) {
+            throw new IllegalArgumentException("Rate " + rate + " must be positive");
+        }
+    }
+
+}
@@ -0,0 +1,188 @@
+package com.concepts.domain.time.support;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+import com.concepts.domain.support.Assert;
+import com.concepts.domain.time.Duration;
+import com.concepts.domain.time.TimePoint;
+
+
+/**
+ * Fires callbacks when the simulated time of a {@link VirtualClock} reaches their deadlines. Pending callbacks are kept
+ * in a heap ordered by deadline, and callbacks with the same deadline fire in the order they were scheduled.
+ * <p>
+ * The scheduler does not start threads. A frozen clock is driven through {@link #advanceTo(TimePoint)},
+ * {@link #advance(Duration)} or {@link #runUntilIdle()}, which step the clock to each deadline before firing its
+ * callbacks, so time driven code runs deterministically and as fast as the callbacks allow. For a running clock,
+ * {@link #firePending()} fires the callbacks whose deadlines the clock has passed. Callbacks may schedule further
+ * callbacks. The scheduler is meant to be driven by a single thread.
+ *
+ * @see VirtualClock
+ */
+public class VirtualScheduler {
+
+    private static final Comparator<Task> BY_DEADLINE = new Comparator<Task>() {
+
+        public int compare(Task first, Task second) {
+            int order = Long.compare(first.deadline, second.deadline);
+
+            return (order != 0) ? order : Long.compare(first.sequence, second.sequence);
+        }
+    };
+
+    private final VirtualClock clock;
+    private final PriorityQueue<Task> tasks = new PriorityQueue<Task>(16, BY_DEADLINE);
+    private long sequence;
+
+    public static VirtualScheduler boundTo(VirtualClock clock) {
+        Assert.notNull(clock, "Clock cannot be null");
+
+        return new VirtualScheduler(clock);
+    }
+
+    VirtualScheduler(VirtualClock clock) {
+        this.clock = clock;
+    }
+
+    public VirtualClock getClock() {
+        return this.clock;
+    }
+
+    /**
+     * Schedules {@code callback} to fire once the simulated time reaches {@code deadline}. A deadline already passed
+     * fires with the next call driving the scheduler.
+     */
+    public Task schedule(TimePoint deadline, Runnable callback) {
+        Assert.notNull(callback, "Callback cannot be null");
+
+        Task task = new Task(this, VirtualClock.millisecondsOf(deadline), this.sequence++, callback);
+        this.tasks.add(task);
+
+        return task;
+    }
+
+    /**
+     * Schedules {@code callback} to fire once {@code delay} of simulated time has passed.
+     */
+    public Task scheduleAfter(Duration delay, Runnable callback) {
+        Assert.notNull(delay, "Delay cannot be null");
+        if (!delay.hasConvertibleTimeUnit(Duration.milliseconds(1))) {
+            throw new IllegalArgumentException("Cannot schedule after " + delay);
+        }
+
+        return schedule(TimePoint.from(this.clock.millisecondsFromEpoc() + delay.inBaseUnits()), callback);
+    }
+
+    /**
+     * Returns the number of callbacks waiting to fire.
+     */
+    public int size() {
+        return this.tasks.size();
+    }
+
+    /**
+     * Returns the earliest deadline of the waiting callbacks, or {@code null} if there are none.
+     */
+    public TimePoint nextDeadline() {
+        Task next = this.tasks.peek();
+
+        return (next == null) ? null : next.getDeadline();
+    }
+
+    /**
+     * Fires the callbacks whose deadlines the clock has reached, without moving the clock.
+     *
+     * @return Number of callbacks fired.
+     */
+    public int firePending() {
+        return fireUntil(this.clock.millisecondsFromEpoc());
+    }
+
+    /**
+     * Moves the clock forward to {@code timePoint}, stepping it to the deadline of each callback on the way before
+     * firing the callback.
+     *
+     * @return Number of callbacks fired.
+     */
+    public int advanceTo(TimePoint timePoint) {
+        long target = VirtualClock.millisecondsOf(timePoint);
+        if (target < this.clock.millisecondsFromEpoc()) {
+            throw new IllegalArgumentException("Cannot move the clock back to " + timePoint);
+        }
+
+        int fired = fireUntil(target);
+        this.clock.advanceTo(target);
+
+        return fired;
+    }
+
+    /**
+     * Moves the clock forward by {@code duration}, firing callbacks as {@link #advanceTo(TimePoint)} does.
+     *
+     * @return Number of callbacks fired.
+     */
+    public int advance(Duration duration) {
+        Assert.notNull(duration, "Duration cannot be null");
+        if (!duration.hasConvertibleTimeUnit(Duration.milliseconds(1))) {
+            throw new IllegalArgumentException("Cannot advance the clock by " + duration);
+        }
+
+        return advanceTo(TimePoint.from(this.clock.millisecondsFromEpoc() + duration.inBaseUnits()));
+    }
+
+    /**
+     * Steps the clock from deadline to deadline, firing callbacks until none are left. Callbacks that keep scheduling
+     * further callbacks make this method run forever; use {@link #advanceTo(TimePoint)} to bound the simulation.
+     *
+     * @return Number of callbacks fired.
+     */
+    public int runUntilIdle() {
+        return fireUntil(Long.MAX_VALUE);
+    }
+
+    private int fireUntil(long target) {
+        int fired = 0;
+        for (Task next = this.tasks.peek(); next != null && next.deadline <= target; next = this.tasks.peek()) {
+            this.tasks.poll();
+            this.clock.advanceTo(next.deadline);
+            next.callback.run();
+            fired++;
+        }
+
+        return fired;
+    }
+
+    /**
+     * A callback waiting in a {@link VirtualScheduler}.
+     */
+    public static final class Task {
+
+        private final VirtualScheduler scheduler;
+        private final long deadline;
+        private final long sequence;
+        private final Runnable callback;
+
+        Task(VirtualScheduler scheduler, long deadline, long sequence, Runnable callback) {
+            this.scheduler = scheduler;
+            this.deadline = deadline;
+            this.sequence = sequence;
+            this.callback = callback;
+        }
+
+        public TimePoint getDeadline() {
+            return TimePoint.from(this.deadline);
+        }
+
+        /**
+         * Removes the callback from the scheduler.
+         *
+         * @return Whether the callback was still waiting to fire.
+         */
+        public boolean cancel() {
+            return this.scheduler.tasks.remove(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.concepts.domain.money;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Currency;
+
+import org.junit.Test;
+
+
+public class CurrencyRegistryTest {
+
+    @Test
+    public void testOrdinalsAreDenseAndStable() {
+        Currency chf = Currency.getInstance("CHF");
+        int ordinal = CurrencyRegistry.ordinal(chf);
+
+        assertEquals(ordinal, CurrencyRegistry.ordinal(Currency.getInstance("CHF")));
+        assertSame(chf, CurrencyRegistry.currency(ordinal));
+        assertTrue(ordinal >= 0 && ordinal < CurrencyRegistry.size());
+        for (int i = 0; i < CurrencyRegistry.size(); i++) {
+            assertEquals(i, CurrencyRegistry.ordinal(CurrencyRegistry.currency(i)));
+        }
+    }
+
+    @Test
+    public void testFractionDigitsAndScaleFactor() {
+        int usd = CurrencyRegistry.ordinal(Currency.getInstance("USD"));
+        int jpy = CurrencyRegistry.ordinal(Currency.getInstance("JPY"));
+        int bhd = CurrencyRegistry.ordinal(Currency.getInstance("BHD"));
+        int xau = CurrencyRegistry.ordinal(Currency.getInstance("XAU"));
+
+        assertEquals(2, CurrencyRegistry.fractionDigits(usd));
+        assertEquals(100, CurrencyRegistry.scaleFactor(usd));
+        assertEquals(0, CurrencyRegistry.fractionDigits(jpy));
+        assertEquals(1, CurrencyRegistry.scaleFactor(jpy));
+        assertEquals(3, CurrencyRegistry.fractionDigits(bhd));
+        assertEquals(1000, CurrencyRegistry.scaleFactor(bhd));
+        assertEquals(-1, CurrencyRegistry.fractionDigits(xau));
+        assertEquals(0, CurrencyRegistry.scaleFactor(xau));
+    }
+
+    @Test
+    public void testCachedMoney() {
+        int jpy = CurrencyRegistry.ordinal(Currency.getInstance("JPY"));
+
+        assertEquals(Money.valueOf(-128, Currency.getInstance("JPY")), CurrencyRegistry.cachedMoney(jpy, -128));
+        assertSame(CurrencyRegistry.cachedMoney(jpy, 127), CurrencyRegistry.cachedMoney(jpy, 127));
+        assertNull(CurrencyRegistry.cachedMoney(jpy, 128));
+        assertNull(CurrencyRegistry.cachedMoney(jpy, -129));
+        assertNull(CurrencyRegistry.cachedMoney(CurrencyRegistry.ordinal(Currency.getInstance("XAU")), 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownOrdinal() {
+        CurrencyRegistry.currency(CurrencyRegistry.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullCurrency() {
+        CurrencyRegistry.ordinal(null);
+    }
+
+}
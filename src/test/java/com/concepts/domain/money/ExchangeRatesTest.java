@@ -0,0 +1,60 @@
+package com.concepts.domain.money;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class ExchangeRatesTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final Currency JPY = Currency.getInstance("JPY");
+
+    private int fetches;
+    private ExchangeRates rates;
+
+    @Before
+    public void setUp() throws Exception {
+        this.rates = ExchangeRates.cachedFrom(new ExchangeRateProvider() {
+
+            public BigDecimal getRate(Currency from, Currency to) {
+                ExchangeRatesTest.this.fetches++;
+                if (from.equals(EUR) && to.equals(USD)) { return new BigDecimal("1.35"); }
+                if (from.equals(USD) && to.equals(JPY)) { return new BigDecimal("80.5"); }
+
+                return null;
+            }
+        });
+    }
+
+    @Test
+    public void testRatesAreCached() {
+        assertEquals(new BigDecimal("1.35"), this.rates.getRate(EUR, USD));
+        assertEquals(new BigDecimal("1.35"), this.rates.getRate(EUR, USD));
+        assertEquals(new BigDecimal("80.5"), this.rates.getRate(USD, JPY));
+        assertEquals(BigDecimal.ONE, this.rates.getRate(JPY, JPY));
+        assertEquals(2, this.fetches);
+
+        this.rates.clear();
+        this.rates.getRate(EUR, USD);
+
+        assertEquals(3, this.fetches);
+    }
+
+    @Test
+    public void testConvert() {
+        assertEquals(Money.dollars(13.50), this.rates.convert(Money.valueOf(10, EUR), USD));
+        assertEquals(Money.valueOf(80, JPY), this.rates.convert(Money.dollars(1), JPY));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingRate() {
+        this.rates.getRate(JPY, EUR);
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.concepts.domain.money;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class MoneyAccumulatorTest {
+
+    private Currency usd;
+    private Currency eur;
+    private MoneyAccumulator accumulator;
+
+    @Before
+    public void setUp() throws Exception {
+        this.usd = Currency.getInstance("USD");
+        this.eur = Currency.getInstance("EUR");
+        this.accumulator = new MoneyAccumulator();
+    }
+
+    @Test
+    public void testTotalsPerCurrency() {
+        this.accumulator.add(Money.dollars(10.25)).add(Money.valueOf(5, this.eur)).add(Money.dollars(-0.25));
+        this.accumulator.addMinorUnits(this.eur, 150);
+
+        assertEquals(Money.dollars(10), this.accumulator.total(this.usd));
+        assertEquals(Money.valueOf(6.5, this.eur), this.accumulator.total(this.eur));
+        Currency yen = Currency.getInstance("JPY");
+        assertEquals(Money.valueOf(0, yen), this.accumulator.total(yen));
+        assertArrayEquals(new Currency[] { this.usd, this.eur }, this.accumulator.currencies());
+
+        Map<Currency, Money> totals = this.accumulator.totals();
+        assertEquals(2, totals.size());
+        assertEquals(Money.dollars(10), totals.get(this.usd));
+    }
+
+    @Test
+    public void testMatchesSequentialPlus() {
+        Random random = new Random(7);
+        Money expected = Money.ZERO_DOLLARS;
+        for (int i = 0; i < 10000; i++) {
+            Money money = Money.ofMinorUnits(random.nextLong() >> random.nextInt(64), this.usd);
+            expected = expected.plus(money);
+            this.accumulator.add(money);
+        }
+
+        assertEquals(expected, this.accumulator.total(this.usd));
+        assertEquals(expected.getAmount(), this.accumulator.total(this.usd).getAmount());
+    }
+
+    @Test
+    public void testOverflowingSums() {
+        Money max = Money.ofMinorUnits(Long.MAX_VALUE, this.usd);
+        this.accumulator.add(max).add(max).add(Money.dollars(1));
+
+        assertEquals(max.plus(max).plus(Money.dollars(1)), this.accumulator.total(this.usd));
+
+        this.accumulator.add(max.negate()).add(max.negate());
+
+        assertEquals(Money.dollars(1), this.accumulator.total(this.usd));
+        assertEquals(100, this.accumulator.total(this.usd).getAmountInMinorUnits());
+    }
+
+    @Test
+    public void testAmountsBeyondMinorUnits() {
+        Money huge = Money.dollars(new BigDecimal("1e30"));
+        Currency gold = Currency.getInstance("XAU");
+        this.accumulator.add(huge).add(Money.dollars(1)).add(Money.valueOf(10, gold)).add(Money.valueOf(20, gold));
+
+        assertEquals(huge.plus(Money.dollars(1)), this.accumulator.total(this.usd));
+        assertEquals(Money.valueOf(30, gold), this.accumulator.total(gold));
+    }
+
+    @Test
+    public void testMerge() {
+        MoneyAccumulator other = new MoneyAccumulator();
+        other.add(Money.valueOf(2, this.eur)).add(Money.dollars(3)).add(Money.ofMinorUnits(Long.MAX_VALUE, this.usd));
+        this.accumulator.add(Money.dollars(1)).add(Money.ofMinorUnits(Long.MAX_VALUE, this.usd));
+
+        this.accumulator.merge(other);
+
+        Money max = Money.ofMinorUnits(Long.MAX_VALUE, this.usd);
+        assertEquals(Money.dollars(4).plus(max).plus(max), this.accumulator.total(this.usd));
+        assertEquals(Money.valueOf(2, this.eur), this.accumulator.total(this.eur));
+    }
+
+    @Test
+    public void testClear() {
+        this.accumulator.add(Money.dollars(1));
+        assertFalse(this.accumulator.isEmpty());
+
+        this.accumulator.clear();
+
+        assertTrue(this.accumulator.isEmpty());
+        assertEquals(Money.dollars(0), this.accumulator.total(this.usd));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMinorUnitsOfCurrencyWithoutMinorUnits() {
+        this.accumulator.addMinorUnits(Currency.getInstance("XAU"), 1);
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.concepts.domain.money;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class MoneyAggregationTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final Currency JPY = Currency.getInstance("JPY");
+
+    private List<Money> monies;
+
+    @Before
+    public void setUp() throws Exception {
+        Random random = new Random(11);
+        Currency[] currencies = { USD, EUR, JPY };
+        this.monies = new ArrayList<Money>();
+        for (int i = 0; i < 50000; i++) {
+            long minorUnits = (i % 1000 == 0) ? Long.MAX_VALUE - random.nextInt(10) : random.nextInt(2000000) - 1000000;
+            this.monies.add(Money.ofMinorUnits(minorUnits, currencies[random.nextInt(currencies.length)]));
+        }
+    }
+
+    private Money sequentialTotal(Currency currency) {
+        Money total = Money.valueOf(0, currency);
+        for (Money money : this.monies) {
+            if (money.getCurrency().equals(currency)) {
+                total = total.plus(money);
+            }
+        }
+
+        return total;
+    }
+
+    @Test
+    public void testTotalsByCurrencyMatchSequentialPlus() {
+        Map<Currency, Money> sequential = this.monies.stream().collect(MoneyAggregation.totalsByCurrency());
+        Map<Currency, Money> parallel = this.monies.parallelStream().collect(MoneyAggregation.totalsByCurrency());
+
+        assertEquals(Arrays.asList(EUR, JPY, USD), new ArrayList<Currency>(parallel.keySet()));
+        assertEquals(sequentialTotal(USD), parallel.get(USD));
+        assertEquals(sequentialTotal(EUR), parallel.get(EUR));
+        assertEquals(sequentialTotal(JPY), parallel.get(JPY));
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    public void testForkJoinResultsDoNotDependOnParallelism() {
+        Map<Currency, Money> expected = MoneyAggregation.totalsByCurrency(this.monies);
+        for (int parallelism = 1; parallelism <= 8; parallelism *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+            assertEquals(expected, MoneyAggregation.collect(this.monies, MoneyAggregation.totalsByCurrency(), pool));
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSumming() {
+        List<Money> dollars = Arrays.asList(Money.dollars(1.5), Money.dollars(2), Money.dollars(-0.25));
+
+        assertEquals(Money.dollars(3.25), dollars.parallelStream().collect(MoneyAggregation.summing(USD)));
+        assertEquals(Money.dollars(0), new ArrayList<Money>().stream().collect(MoneyAggregation.summing(USD)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSummingMixedCurrencies() {
+        Arrays.asList(Money.dollars(1), Money.valueOf(1, EUR)).stream().collect(MoneyAggregation.summing(USD));
+    }
+
+    @Test
+    public void testSummarizingByCurrency() {
+        Map<Currency, MoneyStatistics> statistics = this.monies.parallelStream().collect(
+                MoneyAggregation.summarizingByCurrency());
+        MoneyStatistics dollars = MoneyAggregation.summarize(this.filter(USD), USD);
+
+        assertEquals(dollars.getCount(), statistics.get(USD).getCount());
+        assertEquals(sequentialTotal(USD), statistics.get(USD).getSum());
+        assertEquals(dollars.getMin(), statistics.get(USD).getMin());
+        assertEquals(dollars.getMax(), statistics.get(USD).getMax());
+        assertEquals(this.monies.size(), statistics.get(USD).getCount() + statistics.get(EUR).getCount()
+                + statistics.get(JPY).getCount());
+    }
+
+    private List<Money> filter(Currency currency) {
+        List<Money> result = new ArrayList<Money>();
+        for (Money money : this.monies) {
+            if (money.getCurrency().equals(currency)) {
+                result.add(money);
+            }
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.concepts.domain.money;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Currency;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class MoneyBagTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final Currency GBP = Currency.getInstance("GBP");
+
+    private MoneyBag bag;
+
+    @Before
+    public void setUp() throws Exception {
+        this.bag = MoneyBag.of(Money.dollars(10), Money.valueOf(5, EUR), Money.dollars(2.5));
+    }
+
+    @Test
+    public void testCreation() {
+        assertEquals(2, this.bag.size());
+        assertEquals(Money.dollars(12.5), this.bag.getAmount(USD));
+        assertEquals(Money.valueOf(5, EUR), this.bag.getAmount(EUR));
+        assertEquals(Money.valueOf(0, GBP), this.bag.getAmount(GBP));
+        assertEquals(this.bag, MoneyBag.copyOf(Arrays.asList(Money.valueOf(5, EUR), Money.dollars(12.5))));
+        assertTrue(MoneyBag.of(Money.dollars(1), Money.dollars(-1)).isEmpty());
+    }
+
+    @Test
+    public void testPlusAndMinus() {
+        MoneyBag other = MoneyBag.of(Money.valueOf(1, GBP), Money.dollars(-12.5));
+
+        assertEquals(MoneyBag.of(Money.valueOf(5, EUR), Money.valueOf(1, GBP)), this.bag.plus(other));
+        assertEquals(MoneyBag.of(Money.dollars(25), Money.valueOf(5, EUR), Money.valueOf(-1, GBP)),
+                this.bag.minus(other));
+        assertEquals(MoneyBag.of(Money.dollars(12.5)), this.bag.minus(Money.valueOf(5, EUR)));
+        assertEquals(MoneyBag.EMPTY, this.bag.minus(this.bag));
+        assertSame(this.bag, this.bag.plus(MoneyBag.EMPTY));
+    }
+
+    @Test
+    public void testTimesAndNegate() {
+        assertEquals(MoneyBag.of(Money.dollars(25), Money.valueOf(10, EUR)), this.bag.times(2));
+        assertEquals(MoneyBag.of(Money.dollars(-12.5), Money.valueOf(-5, EUR)), this.bag.negate());
+        assertEquals(MoneyBag.EMPTY, this.bag.times(0));
+    }
+
+    @Test
+    public void testConvertTo() {
+        ExchangeRates rates = ExchangeRates.cachedFrom(new ExchangeRateProvider() {
+
+            public BigDecimal getRate(Currency from, Currency to) {
+                return from.equals(EUR) ? new BigDecimal("1.333") : new BigDecimal("0.75");
+            }
+        });
+
+        assertEquals(Money.dollars(19.16), this.bag.convertTo(USD, rates));
+        assertEquals(Money.valueOf(14.38, EUR), this.bag.convertTo(EUR, rates));
+        assertEquals(Money.valueOf(0, USD), MoneyBag.EMPTY.convertTo(USD, rates));
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream output = new ObjectOutputStream(bytes);
+        output.writeObject(this.bag);
+        output.close();
+        MoneyBag copy = (MoneyBag) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+
+        assertEquals(this.bag, copy);
+        assertEquals(Money.dollars(12.5), copy.getAmount(USD));
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.concepts.domain.money;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Currency;
+import java.util.NoSuchElementException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class MoneyStatisticsTest {
+
+    private MoneyStatistics statistics;
+
+    @Before
+    public void setUp() throws Exception {
+        this.statistics = new MoneyStatistics(Currency.getInstance("USD"));
+    }
+
+    @Test
+    public void testStatistics() {
+        this.statistics.accept(Money.dollars(5));
+        this.statistics.accept(Money.dollars(-2.5));
+        this.statistics.accept(Money.dollars(10));
+
+        assertEquals(3, this.statistics.getCount());
+        assertEquals(Money.dollars(12.5), this.statistics.getSum());
+        assertEquals(Money.dollars(-2.5), this.statistics.getMin());
+        assertEquals(Money.dollars(10), this.statistics.getMax());
+    }
+
+    @Test
+    public void testCombine() {
+        MoneyStatistics other = new MoneyStatistics(Currency.getInstance("USD"));
+        other.accept(Money.dollars(100));
+        this.statistics.accept(Money.dollars(-1));
+
+        this.statistics.combine(other).combine(new MoneyStatistics(Currency.getInstance("USD")));
+
+        assertEquals(2, this.statistics.getCount());
+        assertEquals(Money.dollars(99), this.statistics.getSum());
+        assertEquals(Money.dollars(-1), this.statistics.getMin());
+        assertEquals(Money.dollars(100), this.statistics.getMax());
+    }
+
+    @Test
+    public void testEmptyStatistics() {
+        assertEquals(0, this.statistics.getCount());
+        assertEquals(Money.dollars(0), this.statistics.getSum());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testMinOfEmptyStatistics() {
+        this.statistics.getMin();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOtherCurrency() {
+        this.statistics.accept(Money.valueOf(1, Currency.getInstance("EUR")));
+    }
+
+}
@@ -2,11 +2,18 @@ package com.concepts.domain.money;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.Currency;
+import java.util.Random;
 
 import org.junit.Test;
 
@@ -113,4 +120,108 @@ public class MoneyTest {
         assertEquals("USD 100.00", Money.dollars(100).toString());
     }
 
+    @Test
+    public void testMinorUnits() {
+        Money money = Money.ofMinorUnits(12345, Currency.getInstance("USD"));
+
+        assertEquals(Money.dollars(123.45), money);
+        assertEquals(new BigDecimal("123.45"), money.getAmount());
+        assertEquals(12345, money.getAmountInMinorUnits());
+        assertEquals(1, Money.valueOf(1, Currency.getInstance("JPY")).getAmountInMinorUnits());
+        assertEquals(new BigDecimal("1"), Money.valueOf(1, Currency.getInstance("JPY")).getAmount());
+        assertEquals(new BigDecimal("1.000"), Money.valueOf(1, Currency.getInstance("BHD")).getAmount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMinorUnitsOfCurrencyWithoutMinorUnits() {
+        Money.ofMinorUnits(1, Currency.getInstance("XAU"));
+    }
+
+    @Test
+    public void testCurrencyWithoutMinorUnits() {
+        Currency gold = Currency.getInstance("XAU");
+
+        assertEquals(Money.valueOf(new BigDecimal(30), gold), Money.valueOf(10, gold).plus(Money.valueOf(20, gold)));
+    }
+
+    @Test
+    public void testOverflowFallsBackToBigDecimal() {
+        Money max = Money.ofMinorUnits(Long.MAX_VALUE, Currency.getInstance("USD"));
+        BigDecimal expected = new BigDecimal(Long.MAX_VALUE).movePointLeft(2);
+
+        assertEquals(expected.add(new BigDecimal("0.01")), max.plus(Money.dollars(0.01)).getAmount());
+        assertEquals(expected.negate().subtract(new BigDecimal("0.02")), max.negate().minus(Money.dollars(0.02))
+                .getAmount());
+        assertEquals(expected.multiply(new BigDecimal(3)), max.times(3).getAmount());
+        assertEquals(max, max.plus(Money.dollars(0.01)).minus(Money.dollars(0.01)));
+        assertEquals(max.hashCode(), max.plus(Money.dollars(0.01)).minus(Money.dollars(0.01)).hashCode());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testMinorUnitsOverflow() {
+        Money.ofMinorUnits(Long.MAX_VALUE, Currency.getInstance("USD")).plus(Money.dollars(1))
+                .getAmountInMinorUnits();
+    }
+
+    @Test
+    public void testMinorUnitArithmeticMatchesBigDecimalArithmetic() {
+        Currency usd = Currency.getInstance("USD");
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            long a = random.nextLong() >> random.nextInt(64);
+            long b = random.nextLong() >> random.nextInt(64);
+            int factor = random.nextInt(2000) - 1000;
+            BigDecimal amountA = BigDecimal.valueOf(a, 2);
+            BigDecimal amountB = BigDecimal.valueOf(b, 2);
+            Money moneyA = Money.ofMinorUnits(a, usd);
+            Money moneyB = Money.ofMinorUnits(b, usd);
+
+            assertEquals(amountA.add(amountB), moneyA.plus(moneyB).getAmount());
+            assertEquals(amountA.subtract(amountB), moneyA.minus(moneyB).getAmount());
+            assertEquals(amountA.multiply(BigDecimal.valueOf(factor)), moneyA.times(factor).getAmount());
+            assertEquals(amountA.compareTo(amountB), moneyA.compareTo(moneyB));
+            assertEquals(Money.valueOf(amountA.add(amountB), usd), moneyA.plus(moneyB));
+        }
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        Money money = Money.ofMinorUnits(12345, Currency.getInstance("EUR"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream output = new ObjectOutputStream(bytes);
+        output.writeObject(money);
+        output.close();
+        Money copy = (Money) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+
+        assertEquals(money, copy);
+        assertEquals(12345, copy.getAmountInMinorUnits());
+        assertEquals(money.plus(copy), copy.plus(money));
+    }
+
+    @Test
+    public void testSharedInstancesOfSmallWholeAmounts() {
+        Currency eur = Currency.getInstance("EUR");
+
+        assertSame(Money.valueOf(0, eur), Money.valueOf(0, eur));
+        assertSame(Money.valueOf(-128, eur), Money.ofMinorUnits(-12800, eur));
+        assertSame(Money.dollars(127L), Money.valueOf(127, Currency.getInstance("USD")));
+        assertSame(Money.ZERO_DOLLARS, Money.dollars(0L));
+
+        assertNotSame(Money.valueOf(128, eur), Money.valueOf(128, eur));
+        assertNotSame(Money.ofMinorUnits(1, eur), Money.ofMinorUnits(1, eur));
+        assertEquals(Money.valueOf(128, eur), Money.valueOf(128, eur));
+    }
+
+    @Test
+    public void testSameCurrencyByOrdinal() {
+        Currency eur = Currency.getInstance("EUR");
+        Money euros = Money.valueOf(new BigDecimal("10.25"), eur);
+
+        assertEquals(CurrencyRegistry.ordinal(eur), euros.ordinal());
+        assertTrue(euros.hasSameCurrency(Money.ofMinorUnits(1, eur)));
+        assertFalse(euros.hasSameCurrency(Money.dollars(10.25)));
+        assertEquals(euros.ordinal(), euros.plus(euros).ordinal());
+    }
+
 }
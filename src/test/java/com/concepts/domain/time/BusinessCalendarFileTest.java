@@ -0,0 +1,169 @@
+package com.concepts.domain.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class BusinessCalendarFileTest {
+
+    private CalendarDate christmasOf2011 = CalendarDate.from(2011, 12, 25);
+    private CalendarDate laborDayOf2011 = CalendarDate.from(2011, 9, 5);
+
+    private BusinessCalendar businessCalendar;
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        this.businessCalendar = new BusinessCalendar(2000, 2020) {
+
+            @Override
+            public Set<CalendarDate> setCorporateHolidays() {
+                Set<CalendarDate> holidays = new HashSet<CalendarDate>();
+                holidays.add(BusinessCalendarFileTest.this.laborDayOf2011);
+                holidays.add(BusinessCalendarFileTest.this.christmasOf2011);
+
+                return holidays;
+            }
+        };
+        this.file = File.createTempFile("calendar", ".bin");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.file.delete();
+    }
+
+    @Test
+    public void testWriteAndLoad() throws Exception {
+        BusinessCalendarFile.write(this.businessCalendar, this.file);
+        BusinessCalendar loaded = BusinessCalendarFile.load(this.file);
+
+        assertTrue(loaded.isHoliday(this.laborDayOf2011));
+        assertFalse(loaded.isHoliday(CalendarDate.from(2011, 9, 6)));
+        assertTrue(loaded.isWeekend(CalendarDate.from(2011, 9, 4)));
+        assertFalse(loaded.isWeekend(CalendarDate.from(2011, 9, 5)));
+        assertEquals(CalendarDate.from(2011, 9, 6), loaded.nextBusinessDay(CalendarDate.from(2011, 9, 2)));
+        assertEquals(CalendarDate.from(2011, 12, 23), loaded.previousBusinessDay(CalendarDate.from(2011, 12, 26)));
+        assertEquals(6, loaded.getNumberOfBusinessDaysBetween(CalendarDate.from(2011, 9, 1),
+                CalendarDate.from(2011, 9, 12)));
+        assertEquals(this.businessCalendar.getNumberOfBusinessDaysBetween(CalendarDate.from(2000, 1, 1),
+                CalendarDate.from(2020, 12, 31)), loaded.getNumberOfBusinessDaysBetween(CalendarDate.from(2000, 1, 1),
+                CalendarDate.from(2020, 12, 31)));
+        assertEquals(this.businessCalendar.setCorporateHolidays(), loaded.setCorporateHolidays());
+    }
+
+    @Test
+    public void testLoadedCalendarOutsideIndexedYears() throws Exception {
+        BusinessCalendarFile.write(this.businessCalendar, this.file);
+        BusinessCalendar loaded = BusinessCalendarFile.load(this.file);
+
+        assertEquals(CalendarDate.from(2021, 1, 1), loaded.nextBusinessDay(CalendarDate.from(2020, 12, 31)));
+        assertEquals(CalendarDate.from(1999, 12, 31), loaded.previousBusinessDay(CalendarDate.from(2000, 1, 3)));
+    }
+
+    @Test
+    public void testLoadedCalendarAcceptsHolidayChanges() throws Exception {
+        BusinessCalendarFile.write(this.businessCalendar, this.file);
+        BusinessCalendar loaded = BusinessCalendarFile.load(this.file);
+
+        Set<CalendarDate> days = new HashSet<CalendarDate>();
+        days.add(CalendarDate.from(2011, 9, 6));
+        loaded.addHolidays(days);
+
+        assertEquals(CalendarDate.from(2011, 9, 7), loaded.nextBusinessDay(CalendarDate.from(2011, 9, 2)));
+        assertEquals(CalendarDate.from(2011, 9, 6),
+                this.businessCalendar.nextBusinessDay(CalendarDate.from(2011, 9, 2)));
+    }
+
+    @Test
+    public void testWeekendMask() throws Exception {
+        BusinessCalendar fridayAndSaturday = new BusinessCalendar(2011, 2011) {
+
+            @Override
+            public Set<CalendarDate> setCorporateHolidays() {
+                return new HashSet<CalendarDate>();
+            }
+
+            @Override
+            public boolean isWeekend(CalendarDate day) {
+                int dayOfWeek = day.asJavaCalendar().get(Calendar.DAY_OF_WEEK);
+
+                return dayOfWeek == Calendar.FRIDAY || dayOfWeek == Calendar.SATURDAY;
+            }
+        };
+        BusinessCalendarFile.write(fridayAndSaturday, this.file);
+        BusinessCalendar loaded = BusinessCalendarFile.load(this.file);
+
+        assertTrue(loaded.isWeekend(CalendarDate.from(2011, 9, 2)));
+        assertTrue(loaded.isWeekend(CalendarDate.from(2011, 9, 3)));
+        assertFalse(loaded.isWeekend(CalendarDate.from(2011, 9, 4)));
+        assertFalse(loaded.isWeekend(CalendarDate.from(2012, 9, 2)));
+        assertEquals(CalendarDate.from(2011, 9, 4), loaded.nextBusinessDay(CalendarDate.from(2011, 9, 1)));
+    }
+
+    @Test
+    public void testHolidayRulesAreOnlyWrittenForIndexedYears() throws Exception {
+        BusinessCalendar christmas = new BusinessCalendar(2010, 2012) {
+
+            @Override
+            public Set<CalendarDate> setCorporateHolidays() {
+                return new HashSet<CalendarDate>();
+            }
+
+            @Override
+            public Set<HolidayRule> setHolidayRules() {
+                Set<HolidayRule> rules = new HashSet<HolidayRule>();
+                rules.add(HolidayRules.fixed(12, 26));
+
+                return rules;
+            }
+        };
+        BusinessCalendarFile.write(christmas, this.file);
+        BusinessCalendar loaded = BusinessCalendarFile.load(this.file);
+
+        assertTrue(loaded.isHoliday(CalendarDate.from(2011, 12, 26)));
+        assertTrue(christmas.isHoliday(CalendarDate.from(2013, 12, 26)));
+        assertFalse(loaded.isHoliday(CalendarDate.from(2013, 12, 26)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadCorruptHolidayWordCount() {
+        ByteBuffer contents = BusinessCalendarFile.toByteBuffer(this.businessCalendar);
+        contents.putInt(24, Integer.MAX_VALUE);
+
+        BusinessCalendarFile.load(contents);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadNegativeHolidayWordCount() {
+        ByteBuffer contents = BusinessCalendarFile.toByteBuffer(this.businessCalendar);
+        contents.putInt(24, -1);
+
+        BusinessCalendarFile.load(contents);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadInvalidContents() {
+        BusinessCalendarFile.load(ByteBuffer.wrap(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadTruncatedContents() {
+        ByteBuffer contents = BusinessCalendarFile.toByteBuffer(this.businessCalendar);
+        contents.limit(contents.limit() - 4);
+
+        BusinessCalendarFile.load(contents);
+    }
+
+}
@@ -1,10 +1,17 @@
 package com.concepts.domain.time;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Calendar;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.junit.Before;
@@ -92,6 +99,105 @@ public class BusinessCalendarTest {
                 this.businessCalendar.plusBusinessDays(this.christmasEveOf2011, 1));
     }
 
+    @Test
+    public void testPlusBusinessDaysAcrossYears() {
+        assertEquals(CalendarDate.from(2012, 6, 27),
+                this.businessCalendar.plusBusinessDays(CalendarDate.from(2011, 7, 1), 255));
+        assertEquals(CalendarDate.from(2011, 7, 1),
+                this.businessCalendar.minusBusinessDays(CalendarDate.from(2012, 6, 27), 255));
+    }
+
+    @Test
+    public void testPlusBusinessDaysOutsideIndexedYears() {
+        BusinessCalendar narrowlyIndexed = new BusinessCalendar(2011, 2011) {
+
+            @Override
+            public Set<CalendarDate> setCorporateHolidays() {
+                return BusinessCalendarTest.this.businessCalendar.setCorporateHolidays();
+            }
+        };
+
+        assertEquals(CalendarDate.from(2012, 1, 2),
+                narrowlyIndexed.nextBusinessDay(CalendarDate.from(2011, 12, 30)));
+        assertEquals(CalendarDate.from(2010, 12, 31),
+                narrowlyIndexed.previousBusinessDay(CalendarDate.from(2011, 1, 3)));
+        assertEquals(CalendarDate.from(2012, 6, 27),
+                narrowlyIndexed.plusBusinessDays(CalendarDate.from(2011, 7, 1), 255));
+        assertEquals(CalendarDate.from(2009, 1, 5),
+                narrowlyIndexed.nextBusinessDay(CalendarDate.from(2009, 1, 2)));
+    }
+
+    @Test
+    public void testPlusBusinessDaysAfterAddingAndRemovingHolidays() {
+        Set<CalendarDate> days = new HashSet<CalendarDate>();
+        days.add(CalendarDate.from(2011, 8, 11));
+
+        this.businessCalendar.addHolidays(days);
+        assertEquals(CalendarDate.from(2011, 8, 12),
+                this.businessCalendar.nextBusinessDay(CalendarDate.from(2011, 8, 10)));
+
+        this.businessCalendar.removeHolidays(days);
+        assertEquals(CalendarDate.from(2011, 8, 11),
+                this.businessCalendar.nextBusinessDay(CalendarDate.from(2011, 8, 10)));
+    }
+
+    @Test
+    public void testLenientDatesAreNoHolidays() {
+        Set<CalendarDate> days = new HashSet<CalendarDate>();
+        days.add(CalendarDate.from(2011, 3, 3));
+        this.businessCalendar.addHolidays(days);
+
+        assertTrue(this.businessCalendar.isHoliday(CalendarDate.from(2011, 3, 3)));
+        assertFalse(this.businessCalendar.isHoliday(CalendarDate.from(2011, 2, 31)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLenientCorporateHolidaysAreRejected() {
+        new BusinessCalendar() {
+
+            @Override
+            public Set<CalendarDate> setCorporateHolidays() {
+                Set<CalendarDate> days = new HashSet<CalendarDate>();
+                days.add(CalendarDate.from(2025, 2, 31));
+
+                return days;
+            }
+        };
+    }
+
+    @Test
+    public void testAddingLenientHolidaysIsRejected() {
+        Set<CalendarDate> days = new HashSet<CalendarDate>();
+        days.add(CalendarDate.from(2011, 2, 31));
+
+        try {
+            this.businessCalendar.addHolidays(days);
+            fail();
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(this.businessCalendar.isBusinessDay(CalendarDate.from(2011, 3, 3)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRemovingLenientHolidaysIsRejected() {
+        Set<CalendarDate> days = new HashSet<CalendarDate>();
+        days.add(CalendarDate.from(2011, 2, 31));
+
+        this.businessCalendar.removeHolidays(days);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidIndexedYearRange() {
+        new BusinessCalendar(2012, 2011) {
+
+            @Override
+            public Set<CalendarDate> setCorporateHolidays() {
+                return new HashSet<CalendarDate>();
+            }
+        };
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testPlusZeroBusinessDaysFromAHoliday() {
         this.businessCalendar.plusBusinessDays(this.laborDayOf2011, 0);
@@ -185,6 +291,62 @@ public class BusinessCalendarTest {
                 this.businessCalendar.lastBusinessDayOfMonth(CalendarDate.from(2011, 7, 21)));
     }
 
+    @Test
+    public void testMonthBoundariesAreShared() {
+        assertSame(this.businessCalendar.firstDayOfMonth(CalendarDate.from(2011, 5, 21)),
+                this.businessCalendar.firstDayOfMonth(CalendarDate.from(2011, 5, 2)));
+        assertSame(this.businessCalendar.lastBusinessDayOfMonth(CalendarDate.from(2011, 7, 21)),
+                this.businessCalendar.lastBusinessDayOfMonth(CalendarDate.from(2011, 7, 1)));
+    }
+
+    @Test
+    public void testMonthBoundariesInLeapYears() {
+        assertEquals(CalendarDate.from(2011, 2, 28),
+                this.businessCalendar.lastDayOfMonth(CalendarDate.from(2011, 2, 21)));
+        assertEquals(CalendarDate.from(2008, 2, 29),
+                this.businessCalendar.lastDayOfMonth(CalendarDate.from(2008, 2, 21)));
+        assertEquals(CalendarDate.from(2012, 2, 29),
+                this.businessCalendar.lastBusinessDayOfMonth(CalendarDate.from(2012, 2, 1)));
+    }
+
+    @Test
+    public void testMonthBoundariesAfterHolidayChanges() {
+        Set<CalendarDate> days = new HashSet<CalendarDate>();
+        days.add(CalendarDate.from(2011, 5, 2));
+        days.add(CalendarDate.from(2011, 5, 31));
+
+        this.businessCalendar.addHolidays(days);
+        assertEquals(CalendarDate.from(2011, 5, 3),
+                this.businessCalendar.firstBusinessDayOfMonth(CalendarDate.from(2011, 5, 21)));
+        assertEquals(CalendarDate.from(2011, 5, 30),
+                this.businessCalendar.lastBusinessDayOfMonth(CalendarDate.from(2011, 5, 21)));
+
+        this.businessCalendar.removeHolidays(days);
+        assertEquals(CalendarDate.from(2011, 5, 2),
+                this.businessCalendar.firstBusinessDayOfMonth(CalendarDate.from(2011, 5, 21)));
+        assertEquals(CalendarDate.from(2011, 5, 31),
+                this.businessCalendar.lastBusinessDayOfMonth(CalendarDate.from(2011, 5, 21)));
+    }
+
+    @Test
+    public void testMonthBoundariesOutsideIndexedYears() {
+        BusinessCalendar narrowlyIndexed = new BusinessCalendar(2011, 2011) {
+
+            @Override
+            public Set<CalendarDate> setCorporateHolidays() {
+                return BusinessCalendarTest.this.businessCalendar.setCorporateHolidays();
+            }
+        };
+
+        assertEquals(CalendarDate.from(2012, 1, 2),
+                narrowlyIndexed.firstBusinessDayOfMonth(CalendarDate.from(2012, 1, 15)));
+        assertEquals(CalendarDate.from(2012, 1, 31), narrowlyIndexed.lastDayOfMonth(CalendarDate.from(2012, 1, 15)));
+        assertEquals(CalendarDate.from(2011, 12, 30),
+                narrowlyIndexed.lastBusinessDayOfMonth(CalendarDate.from(2011, 12, 15)));
+        assertEquals(CalendarDate.from(2010, 12, 31),
+                narrowlyIndexed.lastBusinessDayOfMonth(CalendarDate.from(2010, 12, 15)));
+    }
+
     @Test
     public void testNumberOfBusinessDaysSpanningHolidays() {
         assertEquals(0,
@@ -205,6 +367,312 @@ public class BusinessCalendarTest {
                         CalendarDate.from(2011, 9, 12)));
     }
 
+    @Test
+    public void testNumberOfBusinessDaysAcrossYears() {
+        assertEquals(255, this.businessCalendar.getNumberOfBusinessDaysBetween(CalendarDate.from(2011, 7, 1),
+                CalendarDate.from(2012, 6, 27)));
+        assertEquals(255, this.businessCalendar.getNumberOfBusinessDaysBetween(CalendarDate.from(2012, 6, 27),
+                CalendarDate.from(2011, 7, 1)));
+    }
+
+    @Test
+    public void testNumberOfBusinessDaysOutsideIndexedYears() {
+        BusinessCalendar narrowlyIndexed = new BusinessCalendar(2011, 2011) {
+
+            @Override
+            public Set<CalendarDate> setCorporateHolidays() {
+                return BusinessCalendarTest.this.businessCalendar.setCorporateHolidays();
+            }
+        };
+
+        assertEquals(255,
+                narrowlyIndexed.getNumberOfBusinessDaysBetween(CalendarDate.from(2011, 7, 1),
+                        CalendarDate.from(2012, 6, 27)));
+        assertEquals(22,
+                narrowlyIndexed.getNumberOfBusinessDaysBetween(CalendarDate.from(2011, 12, 1),
+                        CalendarDate.from(2012, 1, 1)));
+    }
+
+    @Test
+    public void testNumberOfBusinessDaysAfterAddingAndRemovingHolidays() {
+        Set<CalendarDate> days = new HashSet<CalendarDate>();
+        days.add(CalendarDate.from(2011, 9, 6));
+        days.add(CalendarDate.from(2011, 9, 10));
+        days.add(CalendarDate.from(2011, 9, 12));
+        CalendarDate from = CalendarDate.from(2011, 9, 1);
+        CalendarDate to = CalendarDate.from(2011, 9, 20);
+
+        assertEquals(12, this.businessCalendar.getNumberOfBusinessDaysBetween(from, to));
+
+        this.businessCalendar.addHolidays(days);
+        assertEquals(10, this.businessCalendar.getNumberOfBusinessDaysBetween(from, to));
+        assertEquals(CalendarDate.from(2011, 9, 13), this.businessCalendar.plusBusinessDays(from, 5));
+
+        days.remove(CalendarDate.from(2011, 9, 6));
+        this.businessCalendar.removeHolidays(days);
+        assertEquals(11, this.businessCalendar.getNumberOfBusinessDaysBetween(from, to));
+        assertEquals(CalendarDate.from(2011, 9, 12), this.businessCalendar.plusBusinessDays(from, 5));
+        assertEquals(CalendarDate.from(2011, 9, 2), this.businessCalendar.minusBusinessDays(from, -1));
+    }
+
+    @Test
+    public void testUpdateHolidays() {
+        Set<CalendarDate> added = new HashSet<CalendarDate>();
+        added.add(CalendarDate.from(2011, 9, 6));
+        added.add(CalendarDate.from(2011, 9, 7));
+        Set<CalendarDate> removed = new HashSet<CalendarDate>();
+        removed.add(this.laborDayOf2011);
+
+        this.businessCalendar.updateHolidays(added, removed);
+
+        assertTrue(this.businessCalendar.isHoliday(CalendarDate.from(2011, 9, 6)));
+        assertTrue(this.businessCalendar.isHoliday(CalendarDate.from(2011, 9, 7)));
+        assertFalse(this.businessCalendar.isHoliday(this.laborDayOf2011));
+        assertEquals(CalendarDate.from(2011, 9, 8), this.businessCalendar.plusBusinessDays(this.laborDayOf2011, 1));
+    }
+
+    @Test
+    public void testConcurrentReadersSeeWholeHolidayUpdates() throws Exception {
+        final Set<CalendarDate> days = new HashSet<CalendarDate>();
+        days.add(CalendarDate.from(2011, 9, 6));
+        days.add(CalendarDate.from(2011, 9, 12));
+        final Set<CalendarDate> none = new HashSet<CalendarDate>();
+        final CalendarDate from = CalendarDate.from(2011, 9, 1);
+        final CalendarDate to = CalendarDate.from(2011, 9, 20);
+        final boolean[] torn = new boolean[1];
+
+        Thread reader = new Thread() {
+
+            @Override
+            public void run() {
+                for (int i = 0; i < 20000; i++) {
+                    int count = BusinessCalendarTest.this.businessCalendar.getNumberOfBusinessDaysBetween(from, to);
+                    if (count != 12 && count != 10) {
+                        torn[0] = true;
+                    }
+                }
+            }
+        };
+        this.businessCalendar.nextBusinessDay(from);
+        reader.start();
+        for (int i = 0; i < 500; i++) {
+            this.businessCalendar.updateHolidays(days, none);
+            this.businessCalendar.updateHolidays(none, days);
+        }
+        reader.join();
+
+        assertFalse(torn[0]);
+        assertEquals(12, this.businessCalendar.getNumberOfBusinessDaysBetween(from, to));
+    }
+
+    @Test
+    public void testBusinessDayMask() {
+        BitSet mask = this.businessCalendar.businessDayMask(CalendarDate.from(2011, 9, 1),
+                CalendarDate.from(2011, 9, 12));
+
+        assertEquals(12, mask.length());
+        assertEquals(7, mask.cardinality());
+        assertTrue(mask.get(0));
+        assertTrue(mask.get(1));
+        assertFalse(mask.get(4));
+        assertTrue(mask.get(5));
+        assertTrue(mask.get(11));
+    }
+
+    @Test
+    public void testBusinessDayOffsets() {
+        assertArrayEquals(new int[] { 0, 1, 5, 6, 7, 8, 11 }, this.businessCalendar.businessDayOffsets(
+                CalendarDate.from(2011, 9, 1), CalendarDate.from(2011, 9, 12)));
+        assertArrayEquals(new int[0],
+                this.businessCalendar.businessDayOffsets(this.christmasEveOf2011, this.christmasOf2011));
+    }
+
+    @Test
+    public void testBusinessDays() {
+        List<CalendarDate> days = new ArrayList<CalendarDate>();
+        for (CalendarDate day : this.businessCalendar.businessDays(CalendarDate.from(2011, 12, 22),
+                CalendarDate.from(2012, 1, 3))) {
+            days.add(day);
+        }
+
+        assertEquals(9, days.size());
+        assertEquals(CalendarDate.from(2011, 12, 22), days.get(0));
+        assertEquals(CalendarDate.from(2011, 12, 26), days.get(2));
+        assertEquals(CalendarDate.from(2012, 1, 3), days.get(8));
+    }
+
+    @Test
+    public void testBusinessDayRangesOutsideIndexedYears() {
+        BusinessCalendar narrowlyIndexed = new BusinessCalendar(2011, 2011) {
+
+            @Override
+            public Set<CalendarDate> setCorporateHolidays() {
+                return BusinessCalendarTest.this.businessCalendar.setCorporateHolidays();
+            }
+        };
+        CalendarDate from = CalendarDate.from(2011, 12, 20);
+        CalendarDate to = CalendarDate.from(2012, 1, 10);
+
+        assertEquals(this.businessCalendar.businessDayMask(from, to), narrowlyIndexed.businessDayMask(from, to));
+        assertArrayEquals(this.businessCalendar.businessDayOffsets(from, to),
+                narrowlyIndexed.businessDayOffsets(from, to));
+
+        List<CalendarDate> days = new ArrayList<CalendarDate>();
+        for (CalendarDate day : narrowlyIndexed.businessDays(from, to)) {
+            days.add(day);
+        }
+        assertEquals(this.businessCalendar.businessDayOffsets(from, to).length, days.size());
+        assertEquals(CalendarDate.from(2011, 12, 20), days.get(0));
+        assertEquals(CalendarDate.from(2012, 1, 10), days.get(days.size() - 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBusinessDayMaskOfInvertedRange() {
+        this.businessCalendar.businessDayMask(this.christmasOf2011, this.christmasEveOf2011);
+    }
+
+    @Test
+    public void testHolidayRulesBeyondIndexedYears() {
+        BusinessCalendar calendar = ruleBasedCalendar();
+
+        assertTrue(calendar.isHoliday(CalendarDate.from(2200, 12, 25)));
+        assertTrue(calendar.isHoliday(CalendarDate.from(2200, 11, 27)));
+        assertEquals(CalendarDate.from(2200, 12, 26), calendar.nextBusinessDay(CalendarDate.from(2200, 12, 24)));
+    }
+
+    @Test
+    public void testHolidayRulesObservedInPreviousYear() {
+        BusinessCalendar calendar = ruleBasedCalendar();
+
+        assertTrue(calendar.isHoliday(CalendarDate.from(2021, 12, 31)));
+        assertFalse(calendar.isHoliday(CalendarDate.from(2022, 1, 1)));
+        assertEquals(CalendarDate.from(2022, 1, 3), calendar.nextBusinessDay(CalendarDate.from(2021, 12, 30)));
+        assertEquals(CalendarDate.from(2021, 12, 30), calendar.lastBusinessDayOfMonth(CalendarDate.from(2021, 12, 1)));
+    }
+
+    @Test
+    public void testRemoveHolidayGeneratedByRule() {
+        BusinessCalendar calendar = ruleBasedCalendar();
+        Set<CalendarDate> thanksGivingOf2030 = new HashSet<CalendarDate>();
+        thanksGivingOf2030.add(CalendarDate.from(2030, 11, 28));
+
+        calendar.removeHolidays(thanksGivingOf2030);
+
+        assertFalse(calendar.isHoliday(CalendarDate.from(2030, 11, 28)));
+        assertTrue(calendar.isHoliday(CalendarDate.from(2030, 12, 25)));
+        assertEquals(CalendarDate.from(2030, 11, 28), calendar.nextBusinessDay(CalendarDate.from(2030, 11, 27)));
+    }
+
+    @Test
+    public void testConcurrentFirstUseOfYears() throws Exception {
+        final BusinessCalendar calendar = ruleBasedCalendar();
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            final int offset = i * 25;
+            threads[i] = new Thread() {
+
+                @Override
+                public void run() {
+                    for (int j = 0; j < 100; j++) {
+                        calendar.isHoliday(CalendarDate.from(2300 + (offset + j) % 100, 6, 1));
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        HolidayRule christmas = HolidayRules.observedOnNearestWeekday(HolidayRules.fixed(12, 25));
+        HolidayRule thanksGiving = HolidayRules.nthDayOfWeek(4, Calendar.THURSDAY, 11);
+        for (int year = 2300; year < 2400; year++) {
+            assertTrue(calendar.isHoliday(christmas.dateIn(year)));
+            assertTrue(calendar.isHoliday(thanksGiving.dateIn(year)));
+        }
+    }
+
+    @Test
+    public void testConfiguredWeekendDays() {
+        BusinessCalendar calendar = new BusinessCalendar() {
+
+            @Override
+            public Set<CalendarDate> setCorporateHolidays() {
+                return new HashSet<CalendarDate>();
+            }
+
+            @Override
+            public Set<Integer> setWeekendDays() {
+                Set<Integer> weekendDays = new HashSet<Integer>();
+                weekendDays.add(Calendar.FRIDAY);
+                weekendDays.add(Calendar.SATURDAY);
+
+                return weekendDays;
+            }
+        };
+
+        assertTrue(calendar.isWeekend(CalendarDate.from(2011, 8, 19)));
+        assertTrue(calendar.isWeekend(CalendarDate.from(2011, 8, 20)));
+        assertFalse(calendar.isWeekend(CalendarDate.from(2011, 8, 21)));
+        assertEquals(CalendarDate.from(2011, 8, 21), calendar.nextBusinessDay(CalendarDate.from(2011, 8, 18)));
+        assertEquals(5, calendar.getNumberOfBusinessDaysBetween(CalendarDate.from(2011, 8, 14),
+                CalendarDate.from(2011, 8, 21)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidWeekendDay() {
+        new BusinessCalendar() {
+
+            @Override
+            public Set<CalendarDate> setCorporateHolidays() {
+                return new HashSet<CalendarDate>();
+            }
+
+            @Override
+            public Set<Integer> setWeekendDays() {
+                Set<Integer> weekendDays = new HashSet<Integer>();
+                weekendDays.add(0);
+
+                return weekendDays;
+            }
+        };
+    }
+
+    @Test
+    public void testIndexQueriesOnlyApplyRulesToTheirYears() {
+        final BitSet evaluatedYears = new BitSet();
+        final HolidayRule newYear = HolidayRules.observedOnNearestWeekday(HolidayRules.fixed(1, 1));
+        BusinessCalendar calendar = new BusinessCalendar() {
+
+            @Override
+            public Set<CalendarDate> setCorporateHolidays() {
+                return new HashSet<CalendarDate>();
+            }
+
+            @Override
+            public Set<HolidayRule> setHolidayRules() {
+                Set<HolidayRule> rules = new HashSet<HolidayRule>();
+                rules.add(new HolidayRule() {
+
+                    public CalendarDate dateIn(int year) {
+                        evaluatedYears.set(year);
+
+                        return newYear.dateIn(year);
+                    }
+                });
+
+                return rules;
+            }
+        };
+
+        assertEquals(CalendarDate.from(2012, 1, 4), calendar.plusBusinessDays(CalendarDate.from(2011, 12, 29), 3));
+        assertEquals(2, calendar.getNumberOfBusinessDaysBetween(CalendarDate.from(2011, 12, 29),
+                CalendarDate.from(2012, 1, 3)));
+        assertEquals(CalendarDate.from(2012, 1, 3), calendar.firstBusinessDayOfMonth(CalendarDate.from(2012, 1, 15)));
+        assertEquals(2010, evaluatedYears.nextSetBit(0));
+        assertEquals(2013, evaluatedYears.length() - 1);
+    }
+
     @Test
     public void testNumberOfBusinessDaysSpanningAFullWorkingWeek() {
         assertEquals(
@@ -213,4 +681,24 @@ public class BusinessCalendarTest {
                         CalendarDate.from(2011, 9, 17)));
     }
 
+    private BusinessCalendar ruleBasedCalendar() {
+        return new BusinessCalendar() {
+
+            @Override
+            public Set<CalendarDate> setCorporateHolidays() {
+                return new HashSet<CalendarDate>();
+            }
+
+            @Override
+            public Set<HolidayRule> setHolidayRules() {
+                Set<HolidayRule> rules = new HashSet<HolidayRule>();
+                rules.add(HolidayRules.observedOnNearestWeekday(HolidayRules.fixed(1, 1)));
+                rules.add(HolidayRules.nthDayOfWeek(4, Calendar.THURSDAY, 11));
+                rules.add(HolidayRules.observedOnNearestWeekday(HolidayRules.fixed(12, 25)));
+
+                return rules;
+            }
+        };
+    }
+
 }
@@ -0,0 +1,96 @@
+package com.concepts.domain.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.NoSuchElementException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class CalendarDateLongMapTest {
+
+    private CalendarDateLongMap cashFlows;
+
+    @Before
+    public void setUp() throws Exception {
+        this.cashFlows = CalendarDateLongMap.builder().put(CalendarDate.from(2011, 6, 30), 250L).put(
+                CalendarDate.from(2011, 3, 31), 100L).put(CalendarDate.from(2011, 12, 31), 400L).put(
+                CalendarDate.from(2011, 6, 30), 200L).put(CalendarDate.from(2011, 9, 30), 300L).build();
+    }
+
+    @Test
+    public void testLookup() {
+        assertEquals(4, this.cashFlows.size());
+        assertEquals(200L, this.cashFlows.get(CalendarDate.from(2011, 6, 30), -1L));
+        assertEquals(-1L, this.cashFlows.get(CalendarDate.from(2011, 7, 1), -1L));
+        assertTrue(this.cashFlows.containsKey(CalendarDate.from(2011, 3, 31)));
+        assertFalse(this.cashFlows.containsKey(CalendarDate.from(2011, 4, 1)));
+    }
+
+    @Test
+    public void testPositionalAccess() {
+        assertEquals(CalendarDate.from(2011, 3, 31), this.cashFlows.keyAt(0));
+        assertEquals(100L, this.cashFlows.valueAt(0));
+        assertEquals(CalendarDate.from(2011, 12, 31), this.cashFlows.keyAt(3));
+        assertEquals(1000L, this.cashFlows.sum());
+    }
+
+    @Test
+    public void testNavigation() {
+        CalendarDate august = CalendarDate.from(2011, 8, 15);
+
+        assertEquals(CalendarDate.from(2011, 6, 30), this.cashFlows.floorKey(august));
+        assertEquals(CalendarDate.from(2011, 9, 30), this.cashFlows.ceilingKey(august));
+        assertEquals(200L, this.cashFlows.floorValue(august, 0L));
+        assertEquals(0L, this.cashFlows.floorValue(CalendarDate.from(2011, 1, 1), 0L));
+        assertNull(this.cashFlows.ceilingKey(CalendarDate.from(2012, 1, 1)));
+    }
+
+    @Test
+    public void testRangeViews() {
+        CalendarDateLongMap secondHalf = this.cashFlows.subMap(CalendarDate.from(2011, 7, 1), CalendarDate.from(2012,
+                1, 1));
+
+        assertEquals(2, secondHalf.size());
+        assertEquals(700L, secondHalf.sum());
+        assertEquals(CalendarDate.from(2011, 9, 30), secondHalf.keyAt(0));
+        assertNull(secondHalf.floorKey(CalendarDate.from(2011, 8, 1)));
+        assertEquals(300L, this.cashFlows.headMap(CalendarDate.from(2011, 9, 30)).sum());
+        assertEquals(700L, this.cashFlows.tailMap(CalendarDate.from(2011, 9, 30)).sum());
+        assertEquals(secondHalf.keySet(), this.cashFlows.keySet().tailSet(CalendarDate.from(2011, 7, 1)));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testPositionOutsideView() {
+        this.cashFlows.tailMap(CalendarDate.from(2011, 7, 1)).valueAt(2);
+    }
+
+    @Test
+    public void testEquals() {
+        CalendarDateLongMap copy = CalendarDateLongMap.builder().put(CalendarDate.from(2011, 9, 30), 300L).put(
+                CalendarDate.from(2011, 12, 31), 400L).build();
+
+        assertEquals(copy, this.cashFlows.tailMap(CalendarDate.from(2011, 7, 1)));
+        assertEquals(copy.hashCode(), this.cashFlows.tailMap(CalendarDate.from(2011, 7, 1)).hashCode());
+        assertEquals("{30-Sep-2011=300, 31-Dec-2011=400}", copy.toString());
+    }
+
+    @Test
+    public void testLenientDates() {
+        CalendarDateLongMap map = CalendarDateLongMap.builder().put(CalendarDate.from(2011, 3, 3), 100L).build();
+
+        assertEquals(100L, map.get(CalendarDate.from(2011, 3, 3), -1L));
+        assertEquals(-1L, map.get(CalendarDate.from(2011, 2, 31), -1L));
+        assertFalse(map.containsKey(CalendarDate.from(2011, 2, 31)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLenientDatesAreRejected() {
+        CalendarDateLongMap.builder().put(CalendarDate.from(2011, 2, 31), 100L);
+    }
+
+}
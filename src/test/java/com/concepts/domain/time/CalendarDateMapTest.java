@@ -0,0 +1,99 @@
+package com.concepts.domain.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class CalendarDateMapTest {
+
+    private CalendarDateMap<String> rates;
+
+    @Before
+    public void setUp() throws Exception {
+        this.rates = CalendarDateMap.<String> builder().put(CalendarDate.from(2011, 1, 1), "1.25").put(
+                CalendarDate.from(2011, 7, 1), "1.50").put(CalendarDate.from(2011, 4, 1), "1.30").build();
+    }
+
+    @Test
+    public void testLookup() {
+        assertEquals(3, this.rates.size());
+        assertEquals("1.30", this.rates.get(CalendarDate.from(2011, 4, 1)));
+        assertNull(this.rates.get(CalendarDate.from(2011, 4, 2)));
+        assertNull(this.rates.get("2011-04-01"));
+        assertTrue(this.rates.containsKey(CalendarDate.from(2011, 7, 1)));
+    }
+
+    @Test
+    public void testEqualsTreeMap() {
+        TreeMap<CalendarDate, String> copy = new TreeMap<CalendarDate, String>(this.rates);
+
+        assertEquals(copy, this.rates);
+        assertEquals(this.rates, copy);
+        assertEquals(copy.firstKey(), this.rates.firstKey());
+        assertEquals(copy.lastKey(), this.rates.lastKey());
+    }
+
+    @Test
+    public void testNavigation() {
+        CalendarDate may = CalendarDate.from(2011, 5, 15);
+
+        assertEquals(CalendarDate.from(2011, 4, 1), this.rates.floorKey(may));
+        assertEquals("1.30", this.rates.floorValue(may));
+        assertEquals(CalendarDate.from(2011, 7, 1), this.rates.ceilingKey(may));
+        assertEquals("1.50", this.rates.ceilingValue(may));
+        assertEquals(CalendarDate.from(2011, 1, 1), this.rates.lowerKey(CalendarDate.from(2011, 4, 1)));
+        assertEquals(CalendarDate.from(2011, 7, 1), this.rates.higherKey(CalendarDate.from(2011, 4, 1)));
+        assertNull(this.rates.floorEntry(CalendarDate.from(2010, 12, 31)));
+        assertNull(this.rates.higherKey(CalendarDate.from(2011, 7, 1)));
+
+        Map.Entry<CalendarDate, String> entry = this.rates.ceilingEntry(may);
+        assertEquals(CalendarDate.from(2011, 7, 1), entry.getKey());
+        assertEquals("1.50", entry.getValue());
+    }
+
+    @Test
+    public void testRangeViews() {
+        CalendarDateMap<String> firstHalf = this.rates.headMap(CalendarDate.from(2011, 7, 1));
+
+        assertEquals(2, firstHalf.size());
+        assertFalse(firstHalf.containsKey(CalendarDate.from(2011, 7, 1)));
+        assertNull(firstHalf.ceilingKey(CalendarDate.from(2011, 5, 1)));
+        assertEquals(1, this.rates.tailMap(CalendarDate.from(2011, 5, 1)).size());
+        assertEquals(1, this.rates.subMap(CalendarDate.from(2011, 2, 1), CalendarDate.from(2011, 7, 1)).size());
+        assertEquals(CalendarDateSet.of(CalendarDate.from(2011, 1, 1), CalendarDate.from(2011, 4, 1)), firstHalf
+                .keySet());
+    }
+
+    @Test
+    public void testLastValuePutWins() {
+        CalendarDateMap<String> map = CalendarDateMap.<String> builder().put(CalendarDate.from(2011, 1, 1), "a").put(
+                CalendarDate.from(2011, 1, 1), "b").build();
+
+        assertEquals(1, map.size());
+        assertEquals("b", map.get(CalendarDate.from(2011, 1, 1)));
+    }
+
+    @Test
+    public void testLenientDates() {
+        CalendarDateMap<String> map = CalendarDateMap.<String> builder().put(CalendarDate.from(2011, 3, 3), "1.25")
+                .build();
+
+        assertEquals("1.25", map.get(CalendarDate.from(2011, 3, 3)));
+        assertNull(map.get(CalendarDate.from(2011, 2, 31)));
+        assertFalse(map.containsKey(CalendarDate.from(2011, 2, 31)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLenientDatesAreRejected() {
+        CalendarDateMap.<String> builder().put(CalendarDate.from(2011, 2, 31), "1.25");
+    }
+
+}
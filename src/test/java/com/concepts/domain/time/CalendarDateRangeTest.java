@@ -0,0 +1,165 @@
+package com.concepts.domain.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.StreamSupport;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class CalendarDateRangeTest {
+
+    private CalendarDateRange december2011;
+    private BusinessCalendar businessCalendar;
+
+    @Before
+    public void setUp() throws Exception {
+        this.december2011 = CalendarDateRange.closed(CalendarDate.from(2011, 12, 1), CalendarDate.from(2011, 12, 31));
+        this.businessCalendar = new BusinessCalendar() {
+
+            @Override
+            public Set<CalendarDate> setCorporateHolidays() {
+                Set<CalendarDate> holidays = new HashSet<CalendarDate>();
+                holidays.add(CalendarDate.from(2011, 12, 26));
+
+                return holidays;
+            }
+        };
+    }
+
+    @Test
+    public void testClosedAndHalfOpen() {
+        CalendarDateRange halfOpen = CalendarDateRange.halfOpen(CalendarDate.from(2011, 12, 1), CalendarDate.from(2012,
+                1, 1));
+
+        assertEquals(this.december2011, halfOpen);
+        assertEquals(31, halfOpen.size());
+        assertEquals(CalendarDate.from(2011, 12, 31), halfOpen.getLastDay());
+        assertEquals(CalendarDate.from(2012, 1, 1), halfOpen.getEnd());
+    }
+
+    @Test
+    public void testEmptyRange() {
+        CalendarDateRange empty = CalendarDateRange.halfOpen(CalendarDate.from(2011, 12, 1), CalendarDate.from(2011,
+                12, 1));
+
+        assertTrue(empty.isEmpty());
+        assertEquals(0, empty.size());
+        assertFalse(empty.iterator().hasNext());
+        assertFalse(empty.contains(CalendarDate.from(2011, 12, 1)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvertedRange() {
+        CalendarDateRange.closed(CalendarDate.from(2011, 12, 2), CalendarDate.from(2011, 12, 1));
+    }
+
+    @Test
+    public void testContains() {
+        assertTrue(this.december2011.contains(CalendarDate.from(2011, 12, 1)));
+        assertTrue(this.december2011.contains(CalendarDate.from(2011, 12, 31)));
+        assertFalse(this.december2011.contains(CalendarDate.from(2012, 1, 1)));
+        assertFalse(this.december2011.contains(CalendarDate.from(2011, 11, 30)));
+    }
+
+    @Test
+    public void testIntersectionAndSpan() {
+        CalendarDateRange christmas = CalendarDateRange.closed(CalendarDate.from(2011, 12, 24), CalendarDate.from(2012,
+                1, 2));
+        CalendarDateRange march = CalendarDateRange.closed(CalendarDate.from(2012, 3, 1), CalendarDate.from(2012, 3,
+                31));
+
+        assertTrue(this.december2011.overlaps(christmas));
+        assertEquals(CalendarDateRange.closed(CalendarDate.from(2011, 12, 24), CalendarDate.from(2011, 12, 31)),
+                this.december2011.intersection(christmas));
+        assertFalse(this.december2011.overlaps(march));
+        assertTrue(this.december2011.intersection(march).isEmpty());
+        assertEquals(CalendarDateRange.closed(CalendarDate.from(2011, 12, 1), CalendarDate.from(2012, 3, 31)),
+                this.december2011.span(march));
+    }
+
+    @Test
+    public void testIteration() {
+        List<CalendarDate> days = new ArrayList<CalendarDate>();
+        for (CalendarDate day : CalendarDateRange.closed(CalendarDate.from(2012, 2, 27), CalendarDate.from(2012, 3,
+                1))) {
+            days.add(day);
+        }
+
+        assertEquals(4, days.size());
+        assertEquals(CalendarDate.from(2012, 2, 29), days.get(2));
+        assertEquals(CalendarDate.from(2012, 3, 1), days.get(3));
+    }
+
+    @Test
+    public void testSpliteratorSplitsEvenly() {
+        Spliterator<CalendarDate> suffix = this.december2011.spliterator();
+        Spliterator<CalendarDate> prefix = suffix.trySplit();
+
+        assertNotNull(prefix);
+        assertEquals(15, prefix.estimateSize());
+        assertEquals(16, suffix.estimateSize());
+        assertTrue(suffix.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.SORTED));
+        assertNull(CalendarDateRange.closed(CalendarDate.from(2011, 12, 1), CalendarDate.from(2011, 12, 1))
+                .spliterator().trySplit());
+    }
+
+    @Test
+    public void testParallelProcessing() {
+        final AtomicLong sum = new AtomicLong();
+        CalendarDateRange century = CalendarDateRange.closed(CalendarDate.from(2000, 1, 1), CalendarDate.from(2099, 12,
+                31));
+
+        assertEquals(century.size(), StreamSupport.stream(century.spliterator(), true).count());
+        StreamSupport.stream(century.spliterator(), true).forEach(day -> sum.addAndGet(day.toEpochDay()));
+        long expected = 0;
+        for (CalendarDate day : century) {
+            expected += day.toEpochDay();
+        }
+
+        assertEquals(expected, sum.get());
+    }
+
+    @Test
+    public void testBusinessDays() {
+        List<CalendarDate> days = new ArrayList<CalendarDate>();
+        for (CalendarDate day : CalendarDateRange.closed(CalendarDate.from(2011, 12, 22), CalendarDate.from(2011, 12,
+                28)).businessDays(this.businessCalendar)) {
+            days.add(day);
+        }
+
+        assertEquals(4, days.size());
+        assertEquals(CalendarDate.from(2011, 12, 22), days.get(0));
+        assertEquals(CalendarDate.from(2011, 12, 27), days.get(2));
+    }
+
+    @Test
+    public void testBusinessDaySpliterator() {
+        Spliterator<CalendarDate> businessDays = this.december2011.businessDays(this.businessCalendar).spliterator();
+
+        assertEquals(21, businessDays.estimateSize());
+        assertEquals(10, businessDays.trySplit().estimateSize());
+        assertEquals(21, StreamSupport.stream(this.december2011.businessDays(this.businessCalendar).spliterator(),
+                true).count());
+    }
+
+    @Test
+    public void testBusinessDaysOutsideIndexedYears() {
+        CalendarDateRange range = CalendarDateRange.closed(CalendarDate.from(2200, 12, 1), CalendarDate.from(2200, 12,
+                7));
+
+        assertEquals(5, StreamSupport.stream(range.businessDays(this.businessCalendar).spliterator(), false).count());
+    }
+
+}
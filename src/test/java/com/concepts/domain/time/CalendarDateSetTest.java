@@ -0,0 +1,112 @@
+package com.concepts.domain.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.stream.StreamSupport;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class CalendarDateSetTest {
+
+    private CalendarDateSet holidays;
+
+    @Before
+    public void setUp() throws Exception {
+        this.holidays = CalendarDateSet.of(CalendarDate.from(2011, 12, 25), CalendarDate.from(2011, 7, 4),
+                CalendarDate.from(2012, 1, 1), CalendarDate.from(2011, 7, 4), CalendarDate.from(2011, 11, 24));
+    }
+
+    @Test
+    public void testDatesAreSortedAndDistinct() {
+        assertEquals(4, this.holidays.size());
+        assertEquals(Arrays.asList(CalendarDate.from(2011, 7, 4), CalendarDate.from(2011, 11, 24), CalendarDate.from(
+                2011, 12, 25), CalendarDate.from(2012, 1, 1)), Arrays.asList(this.holidays.toArray()));
+    }
+
+    @Test
+    public void testContains() {
+        assertTrue(this.holidays.contains(CalendarDate.from(2011, 12, 25)));
+        assertFalse(this.holidays.contains(CalendarDate.from(2011, 12, 26)));
+        assertFalse(this.holidays.contains("2011-12-25"));
+    }
+
+    @Test
+    public void testEqualsOtherSets() {
+        HashSet<CalendarDate> copy = new HashSet<CalendarDate>(this.holidays);
+
+        assertEquals(copy, this.holidays);
+        assertEquals(this.holidays, copy);
+        assertEquals(copy.hashCode(), this.holidays.hashCode());
+    }
+
+    @Test
+    public void testNavigation() {
+        CalendarDate christmasEve = CalendarDate.from(2011, 12, 24);
+        CalendarDate christmas = CalendarDate.from(2011, 12, 25);
+
+        assertEquals(CalendarDate.from(2011, 11, 24), this.holidays.floor(christmasEve));
+        assertEquals(christmas, this.holidays.ceiling(christmasEve));
+        assertEquals(christmas, this.holidays.floor(christmas));
+        assertEquals(CalendarDate.from(2011, 11, 24), this.holidays.lower(christmas));
+        assertEquals(CalendarDate.from(2012, 1, 1), this.holidays.higher(christmas));
+        assertNull(this.holidays.lower(CalendarDate.from(2011, 7, 4)));
+        assertNull(this.holidays.ceiling(CalendarDate.from(2012, 1, 2)));
+        assertEquals(CalendarDate.from(2011, 7, 4), this.holidays.first());
+        assertEquals(CalendarDate.from(2012, 1, 1), this.holidays.last());
+    }
+
+    @Test
+    public void testRangeViews() {
+        CalendarDateSet of2011 = this.holidays.subSet(CalendarDate.from(2011, 1, 1), CalendarDate.from(2012, 1, 1));
+
+        assertEquals(3, of2011.size());
+        assertFalse(of2011.contains(CalendarDate.from(2012, 1, 1)));
+        assertEquals(CalendarDate.from(2011, 12, 25), of2011.last());
+        assertEquals(of2011, this.holidays.subSet(CalendarDateRange.closed(CalendarDate.from(2011, 1, 1), CalendarDate
+                .from(2011, 12, 31))));
+        assertEquals(2, this.holidays.headSet(CalendarDate.from(2011, 12, 25)).size());
+        assertEquals(2, this.holidays.tailSet(CalendarDate.from(2011, 12, 25)).size());
+        assertNull(of2011.higher(CalendarDate.from(2011, 12, 25)));
+    }
+
+    @Test
+    public void testCollectFromStream() {
+        CalendarDateRange december2011 = CalendarDateRange.closed(CalendarDate.from(2011, 12, 1), CalendarDate.from(
+                2011, 12, 31));
+        CalendarDateSet days = StreamSupport.stream(december2011.spliterator(), true).collect(
+                CalendarDateSet.toCalendarDateSet());
+
+        assertEquals(31, days.size());
+        assertEquals(CalendarDate.from(2011, 12, 31), days.last());
+        assertTrue(days.containsAll(this.holidays.subSet(december2011)));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutable() {
+        Iterator<CalendarDate> dates = this.holidays.iterator();
+        dates.next();
+        dates.remove();
+    }
+
+    @Test
+    public void testLenientDates() {
+        CalendarDateSet days = CalendarDateSet.of(CalendarDate.from(2011, 3, 3));
+
+        assertTrue(days.contains(CalendarDate.from(2011, 3, 3)));
+        assertFalse(days.contains(CalendarDate.from(2011, 2, 31)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLenientDatesAreRejected() {
+        CalendarDateSet.of(CalendarDate.from(2011, 3, 3), CalendarDate.from(2011, 2, 31));
+    }
+
+}
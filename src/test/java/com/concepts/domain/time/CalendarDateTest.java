@@ -2,9 +2,16 @@ package com.concepts.domain.time;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.Calendar;
+import java.util.TimeZone;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -48,6 +55,17 @@ public class CalendarDateTest {
         assertEquals(day, CalendarDate.from("2010-01-01", "yyyy-MM-dd"));
     }
 
+    @Test
+    public void testCreationFromTimePointInTimeZone() {
+        TimePoint instant = TimePoint.at(2011, 6, 15, 23, 30, 0, TimeZone.getTimeZone("UTC"));
+
+        assertEquals(CalendarDate.from(2011, 6, 15),
+                CalendarDate.from(instant, TimeZone.getTimeZone("America/New_York")));
+        assertEquals(CalendarDate.from(2011, 6, 16), CalendarDate.from(instant, TimeZone.getTimeZone("Asia/Tokyo")));
+        assertEquals(CalendarDate.from(1850, 1, 1), CalendarDate.from(TimePoint.atMidnight(1850, 1, 1,
+                TimeZone.getTimeZone("Asia/Tokyo")), TimeZone.getTimeZone("Asia/Tokyo")));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testInvalidMonthError() {
         CalendarDate.from(2011, 13, 1);
@@ -103,8 +121,96 @@ public class CalendarDateTest {
         assertEquals(CalendarDate.from(2015, 1, 1), CalendarDate.from(this.jan012010).plusYears(5));
     }
 
+    @Test
+    public void testPlusMonthsAndYearsFromLeapDay() {
+        assertEquals(CalendarDate.from(2013, 2, 28), CalendarDate.from(2012, 2, 29).plusYears(1));
+        assertEquals(CalendarDate.from(2016, 2, 29), CalendarDate.from(2012, 2, 29).plusYears(4));
+        assertEquals(CalendarDate.from(2011, 12, 29), CalendarDate.from(2012, 2, 29).plusMonths(-2));
+    }
+
+    @Test
+    public void testPlusMonthsFromDayBeyondEndOfMonth() {
+        assertEquals(CalendarDate.from(2011, 4, 3), CalendarDate.from(2011, 2, 31).plusMonths(1));
+    }
+
+    @Test
+    public void testArithmeticAgreesWithJavaCalendar() {
+        CalendarDate date = CalendarDate.from(1900, 1, 1);
+        for (int i = 0; i < 80000; i += 7) {
+            int increment = i % 61 - 30;
+            assertEquals(plus(date, Calendar.DATE, increment), date.plusDays(increment));
+            assertEquals(plus(date, Calendar.MONTH, increment), date.plusMonths(increment));
+            assertEquals(plus(date, Calendar.YEAR, increment), date.plusYears(increment));
+
+            date = date.plusDays(7);
+        }
+    }
+
+    @Test
+    public void testCompareTo() {
+        CalendarDate date = CalendarDate.from(2011, 2, 28);
+
+        assertTrue(date.compareTo(CalendarDate.from(2011, 3, 1)) < 0);
+        assertTrue(date.compareTo(CalendarDate.from(2010, 12, 31)) > 0);
+        assertEquals(0, date.compareTo(CalendarDate.from(2011, 2, 28)));
+    }
+
+    @Test
+    public void testDaysUntil() {
+        assertEquals(366, CalendarDate.from(2012, 1, 1).daysUntil(CalendarDate.from(2013, 1, 1)));
+        assertEquals(-1, CalendarDate.from(2012, 3, 1).daysUntil(CalendarDate.from(2012, 2, 29)));
+    }
+
+    @Test
+    public void testCachedYearsShareInstances() {
+        assertSame(CalendarDate.from(2011, 12, 25), CalendarDate.from(2011, 12, 25));
+        assertSame(CalendarDate.from(2011, 12, 25), CalendarDate.from(2011, 12, 24).nextDay());
+        assertNotSame(CalendarDate.from(1900, 12, 25), CalendarDate.from(1900, 12, 25));
+        assertEquals(CalendarDate.from(1900, 12, 25), CalendarDate.from(1900, 12, 25));
+    }
+
+    @Test
+    public void testDayBeyondEndOfMonthIsNotTheDayItStandsFor() {
+        assertFalse(CalendarDate.from(2011, 2, 31).equals(CalendarDate.from(2011, 3, 3)));
+        assertTrue(CalendarDate.from(2011, 2, 31).isBefore(CalendarDate.from(2011, 3, 1)));
+    }
+
+    @Test
+    public void testPackedInt() {
+        assertEquals(20111225, CalendarDate.from(2011, 12, 25).asPackedInt());
+        assertSame(CalendarDate.from(2011, 12, 25), CalendarDate.fromPackedInt(20111225));
+        assertEquals(CalendarDate.from(1900, 2, 31), CalendarDate.fromPackedInt(19000231));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPackedInt() {
+        CalendarDate.fromPackedInt(20111300);
+    }
+
+    @Test
+    public void testSerializationPreservesInterning() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream output = new ObjectOutputStream(bytes);
+        output.writeObject(CalendarDate.from(2011, 12, 25));
+        output.writeObject(CalendarDate.from(1900, 12, 25));
+        output.close();
+
+        ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertSame(CalendarDate.from(2011, 12, 25), input.readObject());
+        assertEquals(CalendarDate.from(1900, 12, 25), input.readObject());
+    }
+
+    private CalendarDate plus(CalendarDate date, int field, int increment) {
+        Calendar calendar = date.asJavaCalendar();
+        calendar.add(field, increment);
+
+        return CalendarDate.from(calendar);
+    }
+
     @Test
     public void testToString() {
         assertEquals("01-Jan-2010", CalendarDate.from(this.jan012010).toString());
+        assertEquals("03-Mar-2011", CalendarDate.from(2011, 2, 31).toString());
     }
 }
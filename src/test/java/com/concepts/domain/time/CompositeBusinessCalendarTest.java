@@ -0,0 +1,158 @@
+package com.concepts.domain.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class CompositeBusinessCalendarTest {
+
+    private CalendarDate independenceDayOf2011 = CalendarDate.from(2011, 7, 4);
+    private CalendarDate firstOfJuly2011 = CalendarDate.from(2011, 7, 1);
+    private CalendarDate fifthOfJuly2011 = CalendarDate.from(2011, 7, 5);
+
+    private BusinessCalendar newYork;
+    private BusinessCalendar dubai;
+
+    @Before
+    public void setUp() throws Exception {
+        this.newYork = new BusinessCalendar() {
+
+            @Override
+            public Set<CalendarDate> setCorporateHolidays() {
+                Set<CalendarDate> holidays = new HashSet<CalendarDate>();
+                holidays.add(CompositeBusinessCalendarTest.this.independenceDayOf2011);
+
+                return holidays;
+            }
+        };
+        this.dubai = new BusinessCalendar() {
+
+            @Override
+            public Set<CalendarDate> setCorporateHolidays() {
+                Set<CalendarDate> holidays = new HashSet<CalendarDate>();
+                holidays.add(CompositeBusinessCalendarTest.this.fifthOfJuly2011);
+
+                return holidays;
+            }
+
+            @Override
+            public Set<Integer> setWeekendDays() {
+                Set<Integer> weekendDays = new HashSet<Integer>();
+                weekendDays.add(Calendar.FRIDAY);
+                weekendDays.add(Calendar.SATURDAY);
+
+                return weekendDays;
+            }
+        };
+    }
+
+    @Test
+    public void testUnion() {
+        BusinessCalendar joint = CompositeBusinessCalendar.unionOf(this.newYork, this.dubai);
+
+        assertTrue(joint.isHoliday(this.independenceDayOf2011));
+        assertTrue(joint.isHoliday(this.fifthOfJuly2011));
+        assertTrue(joint.isWeekend(CalendarDate.from(2011, 7, 8)));
+        assertTrue(joint.isWeekend(CalendarDate.from(2011, 7, 10)));
+        assertEquals(CalendarDate.from(2011, 7, 6), joint.nextBusinessDay(this.firstOfJuly2011));
+        assertEquals(CalendarDate.from(2011, 7, 11), joint.plusBusinessDays(this.firstOfJuly2011, 3));
+        assertEquals(2, joint.getNumberOfBusinessDaysBetween(this.firstOfJuly2011, CalendarDate.from(2011, 7, 11)));
+    }
+
+    @Test
+    public void testIntersection() {
+        BusinessCalendar either = CompositeBusinessCalendar.intersectionOf(this.newYork, this.dubai);
+
+        assertFalse(either.isHoliday(this.independenceDayOf2011));
+        assertFalse(either.isHoliday(this.fifthOfJuly2011));
+        assertTrue(either.isBusinessDay(CalendarDate.from(2011, 7, 8)));
+        assertTrue(either.isBusinessDay(CalendarDate.from(2011, 7, 10)));
+        assertTrue(either.isWeekend(CalendarDate.from(2011, 7, 9)));
+        assertEquals(CalendarDate.from(2011, 7, 3), either.nextBusinessDay(this.firstOfJuly2011));
+    }
+
+    @Test
+    public void testIntersectionOfHolidayAndWeekend() {
+        Set<CalendarDate> days = new HashSet<CalendarDate>();
+        days.add(this.firstOfJuly2011);
+        this.newYork.addHolidays(days);
+
+        BusinessCalendar either = CompositeBusinessCalendar.intersectionOf(this.newYork, this.dubai);
+
+        assertTrue(either.isHoliday(this.firstOfJuly2011));
+        assertFalse(either.isBusinessDay(this.firstOfJuly2011));
+    }
+
+    @Test
+    public void testCompositesAreIndependent() {
+        BusinessCalendar joint = CompositeBusinessCalendar.unionOf(this.newYork, this.dubai);
+        BusinessCalendar other = CompositeBusinessCalendar.unionOf(this.dubai, this.newYork);
+
+        Set<CalendarDate> days = new HashSet<CalendarDate>();
+        days.add(CalendarDate.from(2011, 7, 6));
+        joint.addHolidays(days);
+
+        assertNotSame(joint, other);
+        assertTrue(joint.isHoliday(CalendarDate.from(2011, 7, 6)));
+        assertFalse(other.isHoliday(CalendarDate.from(2011, 7, 6)));
+        assertFalse(this.newYork.isHoliday(CalendarDate.from(2011, 7, 6)));
+    }
+
+    @Test
+    public void testCompositeIsRecreatedAfterMemberChanges() {
+        BusinessCalendar joint = CompositeBusinessCalendar.unionOf(this.newYork, this.dubai);
+
+        Set<CalendarDate> days = new HashSet<CalendarDate>();
+        days.add(CalendarDate.from(2011, 7, 6));
+        this.newYork.addHolidays(days);
+        BusinessCalendar refreshed = CompositeBusinessCalendar.unionOf(this.newYork, this.dubai);
+
+        assertFalse(joint.isHoliday(CalendarDate.from(2011, 7, 6)));
+        assertTrue(refreshed.isHoliday(CalendarDate.from(2011, 7, 6)));
+        assertEquals(CalendarDate.from(2011, 7, 7), refreshed.nextBusinessDay(this.firstOfJuly2011));
+    }
+
+    @Test
+    public void testRuleHolidaysOfMembersWithDifferentIndexedYears() {
+        BusinessCalendar christmas = new BusinessCalendar(2000, 2010) {
+
+            @Override
+            public Set<CalendarDate> setCorporateHolidays() {
+                return new HashSet<CalendarDate>();
+            }
+
+            @Override
+            public Set<HolidayRule> setHolidayRules() {
+                Set<HolidayRule> rules = new HashSet<HolidayRule>();
+                rules.add(HolidayRules.fixed(12, 25));
+
+                return rules;
+            }
+        };
+        BusinessCalendar joint = CompositeBusinessCalendar.unionOf(christmas, this.newYork);
+        BusinessCalendar either = CompositeBusinessCalendar.intersectionOf(christmas, christmas);
+
+        assertTrue(joint.isHoliday(CalendarDate.from(2005, 12, 25)));
+        assertTrue(joint.isHoliday(CalendarDate.from(2050, 12, 25)));
+        assertEquals(CalendarDate.from(2050, 12, 26), joint.nextBusinessDay(CalendarDate.from(2050, 12, 23)));
+        assertTrue(joint.isHoliday(CalendarDate.from(2150, 12, 25)));
+        assertEquals(CalendarDate.from(2150, 12, 28), joint.nextBusinessDay(CalendarDate.from(2150, 12, 24)));
+        assertTrue(either.isHoliday(CalendarDate.from(1900, 12, 25)));
+        assertFalse(either.isHoliday(CalendarDate.from(1900, 12, 24)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoMembers() {
+        CompositeBusinessCalendar.unionOf();
+    }
+
+}
@@ -0,0 +1,189 @@
+package com.concepts.domain.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+
+public class DatePatternTest {
+
+    @Test
+    public void testCompiledPatternsAreCached() {
+        assertSame(DatePattern.compile("yyyy-MM-dd"), DatePattern.compile("yyyy-MM-dd"));
+    }
+
+    @Test
+    public void testParseDate() {
+        assertEquals(CalendarDate.from(2011, 12, 25), DatePattern.compile("yyyy-MM-dd").parseDate("2011-12-25"));
+        assertEquals(CalendarDate.from(2011, 2, 3), DatePattern.compile("d/M/yyyy").parseDate("3/2/2011"));
+        assertEquals(CalendarDate.from(2011, 12, 25), DatePattern.compile("yyyyMMdd").parseDate("20111225"));
+    }
+
+    @Test
+    public void testParseMonthNames() {
+        assertEquals(CalendarDate.from(2011, 12, 25), DatePattern.compile("dd-MMM-yyyy").parseDate("25-Dec-2011"));
+        assertEquals(CalendarDate.from(2011, 9, 5), DatePattern.compile("dd-MMM-yyyy").parseDate("05-SEP-2011"));
+        assertEquals(CalendarDate.from(2011, 5, 1), DatePattern.compile("MMMM d, yyyy").parseDate("May 1, 2011"));
+    }
+
+    @Test
+    public void testParseQuotedLiterals() {
+        assertEquals(TimePoint.at(2011, 12, 25, 10, 30, 15), DatePattern.compile("yyyy-MM-dd'T'HH:mm:ss")
+                .parseTimePoint("2011-12-25T10:30:15"));
+        assertEquals(CalendarDate.from(2011, 12, 25), DatePattern.compile("''yyyy-MM-dd''").parseDate(
+                "'2011-12-25'"));
+    }
+
+    @Test
+    public void testParseTimePoint() {
+        assertEquals(TimePoint.at(2011, 12, 25, 23, 59, 58, 7), DatePattern.compile("yyyy-MM-dd HH:mm:ss.SSS")
+                .parseTimePoint("2011-12-25 23:59:58.007"));
+    }
+
+    @Test
+    public void testParseSlices() {
+        DatePattern pattern = DatePattern.compile("yyyy-MM-dd");
+        byte[] line = "ABC,2011-12-25,100".getBytes();
+
+        assertEquals(CalendarDate.from(2011, 12, 25), pattern.parseDate("ABC,2011-12-25,100", 4, 14));
+        assertEquals(CalendarDate.from(2011, 12, 25), pattern.parseDate(line, 4, 14));
+        assertEquals(CalendarDate.from(2011, 12, 25), pattern.parseDate(ByteBuffer.wrap(line), 4, 14));
+    }
+
+    @Test
+    public void testMalformedInput() {
+        assertParseError("yyyy-MM-dd", "2011/12/25", "expected '-' at position 4");
+        assertParseError("yyyy-MM-dd", "2011-12-", "expected 1 digit(s) at position 8");
+        assertParseError("yyyy-MM-dd", "2011-12-25x", "expected end of text at position 10");
+        assertParseError("yyyyMMdd", "2011125", "expected 2 digit(s) at position 6");
+        assertParseError("dd-MMM-yyyy", "25-Dex-2011", "expected name of a month at position 3");
+    }
+
+    @Test
+    public void testNonExistingDate() {
+        assertParseError("yyyy-MM-dd", "2011-02-29", "does not exist");
+        assertParseError("yyyy-MM-dd", "2011-13-01", "does not exist");
+        assertParseError("yyyy-MM-dd HH:mm", "2011-02-28 24:00", "does not exist");
+    }
+
+    @Test
+    public void testYearOutOfRange() {
+        assertParseError("yyyyyyyyy-MM-dd", "999999999-01-01", "Year 999999999");
+        assertParseError("yyyy-MM-dd", "214748-01-01", "must not be after 214747");
+        assertEquals(CalendarDate.from(214747, 12, 31), DatePattern.compile("yyyy-MM-dd").parseDate("214747-12-31"));
+    }
+
+    @Test
+    public void testPatternsBeyondTheCacheAreCompiled() {
+        for (int i = 0; i < 300; i++) {
+            DatePattern pattern = DatePattern.compile("yyyy-MM-dd'" + i + "'");
+
+            assertEquals(CalendarDate.from(2011, 12, 25), pattern.parseDate("2011-12-25" + i));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedPatternLetter() {
+        DatePattern.compile("yyyy-MM-dd EEE");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTwoDigitYear() {
+        DatePattern.compile("dd/MM/yy");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnterminatedQuote() {
+        DatePattern.compile("yyyy'T");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSliceOutsideInput() {
+        DatePattern.compile("yyyy-MM-dd").parseDate("2011-12-25", 2, 12);
+    }
+
+    @Test
+    public void testFormatDate() {
+        assertEquals("2011-12-05", DatePattern.compile("yyyy-MM-dd").format(CalendarDate.from(2011, 12, 5)));
+        assertEquals("5/12/2011", DatePattern.compile("d/M/yyyy").format(CalendarDate.from(2011, 12, 5)));
+        assertEquals("05-Dec-2011", DatePattern.compile("dd-MMM-yyyy").format(CalendarDate.from(2011, 12, 5)));
+        assertEquals("September 5, 2011", DatePattern.compile("MMMM d, yyyy").format(CalendarDate.from(2011, 9, 5)));
+        assertEquals("0999-01-01T00:00", DatePattern.compile("yyyy-MM-dd'T'HH:mm").format(CalendarDate.from(999, 1,
+                1)));
+    }
+
+    @Test
+    public void testFormatIntoTargets() throws Exception {
+        DatePattern pattern = DatePattern.compile("yyyyMMdd");
+        CalendarDate date = CalendarDate.from(2011, 12, 25);
+        StringBuilder builder = new StringBuilder("date=");
+        StringBuffer appendable = new StringBuffer();
+        ByteBuffer buffer = ByteBuffer.allocate(10);
+        buffer.put((byte) '[');
+
+        pattern.formatTo(date, builder);
+        pattern.formatTo(date, (Appendable) appendable);
+        pattern.formatTo(date, buffer).put((byte) ']');
+
+        assertEquals("date=20111225", builder.toString());
+        assertEquals("20111225", appendable.toString());
+        assertEquals("[20111225]", new String(buffer.array(), "ISO-8859-1"));
+    }
+
+    @Test
+    public void testFormatTimePointAgreesWithSimpleDateFormat() {
+        DatePattern pattern = DatePattern.compile("yyyy-MM-dd HH:mm:ss.SSS");
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS", Locale.ENGLISH);
+        for (long milliseconds = -1000000000000L; milliseconds < 4000000000000L; milliseconds += 987654321L) {
+            TimePoint timePoint = TimePoint.from(milliseconds);
+
+            assertEquals(format.format(timePoint.asJavaDate()), pattern.format(timePoint));
+        }
+    }
+
+    @Test
+    public void testFormatTimePointInZone() throws Exception {
+        DatePattern pattern = DatePattern.compile("yyyy-MM-dd HH:mm");
+        TimeZone tokyo = TimeZone.getTimeZone("Asia/Tokyo");
+        TimePoint timePoint = TimePoint.at(2011, 12, 25, 7, 5, 0, TimeZone.getTimeZone("America/New_York"));
+        StringBuilder builder = new StringBuilder();
+        StringBuffer appendable = new StringBuffer();
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+
+        pattern.formatTo(timePoint, tokyo, builder);
+        pattern.formatTo(timePoint, tokyo, (Appendable) appendable);
+        pattern.formatTo(timePoint, tokyo, buffer);
+
+        assertEquals("2011-12-25 21:05", pattern.format(timePoint, tokyo));
+        assertEquals("2011-12-25 21:05", builder.toString());
+        assertEquals("2011-12-25 21:05", appendable.toString());
+        assertEquals("2011-12-25 21:05", new String(buffer.array(), "ISO-8859-1"));
+    }
+
+    @Test
+    public void testFormatRoundTrip() {
+        DatePattern pattern = DatePattern.compile("dd-MMM-yyyy HH:mm:ss");
+        TimePoint timePoint = TimePoint.at(2011, 12, 25, 7, 5, 3);
+
+        assertEquals(timePoint, pattern.parseTimePoint(pattern.format(timePoint)));
+    }
+
+    private void assertParseError(String pattern, String text, String message) {
+        try {
+            DatePattern.compile(pattern).parseDate(text);
+            fail("Parsed " + text);
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(message));
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.concepts.domain.time;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+
+public class EpochDaysTest {
+
+    @Test
+    public void testEpoch() {
+        assertEquals(0, EpochDays.of(1970, 1, 1));
+        assertEquals(-1, EpochDays.of(1969, 12, 31));
+        assertEquals(CalendarDate.from(1970, 1, 1), EpochDays.toCalendarDate(0));
+    }
+
+    @Test
+    public void testLeapDays() {
+        assertEquals(EpochDays.of(2000, 3, 1) - 1, EpochDays.of(2000, 2, 29));
+        assertEquals(EpochDays.of(1900, 3, 1) - 1, EpochDays.of(1900, 2, 28));
+        assertEquals(CalendarDate.from(2012, 2, 29), EpochDays.toCalendarDate(EpochDays.of(2012, 2, 29)));
+    }
+
+    @Test
+    public void testAgreesWithGregorianCalendar() {
+        Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        calendar.clear();
+        calendar.set(1900, Calendar.JANUARY, 1);
+
+        for (int i = 0; i < 100000; i++) {
+            int epochDay = (int) (calendar.getTimeInMillis() / TimeUnitConversionFactors.MILLISECONDS_PER_DAY);
+            CalendarDate date = CalendarDate.from(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1,
+                    calendar.get(Calendar.DATE));
+
+            assertEquals(epochDay, date.toEpochDay());
+            assertEquals(date, EpochDays.toCalendarDate(epochDay));
+            assertEquals(calendar.get(Calendar.YEAR), EpochDays.yearOf(epochDay));
+
+            calendar.add(Calendar.DATE, 1);
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.concepts.domain.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+
+public class HolidayBitmapTest {
+
+    private Set<CalendarDate> days(CalendarDate... dates) {
+        Set<CalendarDate> days = new HashSet<CalendarDate>();
+        for (CalendarDate date : dates) {
+            days.add(date);
+        }
+
+        return days;
+    }
+
+    @Test
+    public void testContains() {
+        HolidayBitmap holidays = HolidayBitmap.of(days(CalendarDate.from(2011, 12, 25), CalendarDate.from(1960, 1, 1)));
+
+        assertTrue(holidays.contains(CalendarDate.from(2011, 12, 25).toEpochDay()));
+        assertTrue(holidays.contains(CalendarDate.from(1960, 1, 1).toEpochDay()));
+        assertFalse(holidays.contains(CalendarDate.from(2011, 12, 24).toEpochDay()));
+        assertFalse(holidays.contains(CalendarDate.from(1900, 1, 1).toEpochDay()));
+        assertFalse(holidays.contains(CalendarDate.from(2100, 1, 1).toEpochDay()));
+        assertEquals(2, holidays.size());
+    }
+
+    @Test
+    public void testEmpty() {
+        assertFalse(HolidayBitmap.EMPTY.contains(0));
+        assertFalse(HolidayBitmap.of(new HashSet<CalendarDate>()).contains(0));
+        assertEquals(0, HolidayBitmap.EMPTY.size());
+    }
+
+    @Test
+    public void testWithExtendsInBothDirections() {
+        HolidayBitmap holidays = HolidayBitmap.of(days(CalendarDate.from(2011, 7, 4)));
+        HolidayBitmap extended = holidays.with(days(CalendarDate.from(1955, 1, 1), CalendarDate.from(2090, 12, 25)));
+
+        assertTrue(extended.contains(CalendarDate.from(2011, 7, 4).toEpochDay()));
+        assertTrue(extended.contains(CalendarDate.from(1955, 1, 1).toEpochDay()));
+        assertTrue(extended.contains(CalendarDate.from(2090, 12, 25).toEpochDay()));
+        assertEquals(3, extended.size());
+        assertEquals(1, holidays.size());
+    }
+
+    @Test
+    public void testWithout() {
+        HolidayBitmap holidays = HolidayBitmap.of(days(CalendarDate.from(2011, 7, 4), CalendarDate.from(2011, 9, 5)));
+        HolidayBitmap reduced = holidays.without(days(CalendarDate.from(2011, 7, 4), CalendarDate.from(2030, 1, 1)));
+
+        assertFalse(reduced.contains(CalendarDate.from(2011, 7, 4).toEpochDay()));
+        assertTrue(reduced.contains(CalendarDate.from(2011, 9, 5).toEpochDay()));
+        assertTrue(holidays.contains(CalendarDate.from(2011, 7, 4).toEpochDay()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLenientDatesAreRejected() {
+        HolidayBitmap.of(days(CalendarDate.from(2011, 2, 31)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRemovingLenientDatesIsRejected() {
+        HolidayBitmap.of(days(CalendarDate.from(2011, 3, 3))).without(days(CalendarDate.from(2011, 2, 31)));
+    }
+
+}
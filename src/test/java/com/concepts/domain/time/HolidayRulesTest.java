@@ -0,0 +1,72 @@
+package com.concepts.domain.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Calendar;
+
+import org.junit.Test;
+
+
+public class HolidayRulesTest {
+
+    @Test
+    public void testFixed() {
+        assertEquals(CalendarDate.from(2011, 12, 25), HolidayRules.fixed(12, 25).dateIn(2011));
+    }
+
+    @Test
+    public void testFixedOnLeapDay() {
+        assertEquals(CalendarDate.from(2012, 2, 29), HolidayRules.fixed(2, 29).dateIn(2012));
+        assertNull(HolidayRules.fixed(2, 29).dateIn(2011));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFixedInInvalidMonth() {
+        HolidayRules.fixed(13, 1);
+    }
+
+    @Test
+    public void testNthDayOfWeek() {
+        assertEquals(CalendarDate.from(2011, 11, 24), HolidayRules.nthDayOfWeek(4, Calendar.THURSDAY, 11).dateIn(2011));
+        assertEquals(CalendarDate.from(2011, 9, 5), HolidayRules.nthDayOfWeek(1, Calendar.MONDAY, 9).dateIn(2011));
+    }
+
+    @Test
+    public void testMissingFifthDayOfWeek() {
+        assertNull(HolidayRules.nthDayOfWeek(5, Calendar.MONDAY, 2).dateIn(2011));
+    }
+
+    @Test
+    public void testLastDayOfWeek() {
+        assertEquals(CalendarDate.from(2011, 5, 30), HolidayRules.lastDayOfWeek(Calendar.MONDAY, 5).dateIn(2011));
+    }
+
+    @Test
+    public void testEasterOffset() {
+        assertEquals(CalendarDate.from(2011, 4, 24), HolidayRules.easterOffset(0).dateIn(2011));
+        assertEquals(CalendarDate.from(2011, 4, 22), HolidayRules.easterOffset(-2).dateIn(2011));
+        assertEquals(CalendarDate.from(2012, 4, 9), HolidayRules.easterOffset(1).dateIn(2012));
+    }
+
+    @Test
+    public void testObservedOnNextWeekday() {
+        HolidayRule independenceDay = HolidayRules.observedOnNextWeekday(HolidayRules.fixed(7, 4));
+        HolidayRule christmas = HolidayRules.observedOnNextWeekday(HolidayRules.fixed(12, 25));
+
+        assertEquals(CalendarDate.from(2010, 7, 5), independenceDay.dateIn(2010));
+        assertEquals(CalendarDate.from(2010, 12, 27), christmas.dateIn(2010));
+        assertEquals(CalendarDate.from(2011, 7, 4), independenceDay.dateIn(2011));
+    }
+
+    @Test
+    public void testObservedOnNearestWeekday() {
+        HolidayRule christmas = HolidayRules.observedOnNearestWeekday(HolidayRules.fixed(12, 25));
+        HolidayRule newYear = HolidayRules.observedOnNearestWeekday(HolidayRules.fixed(1, 1));
+
+        assertEquals(CalendarDate.from(2010, 12, 24), christmas.dateIn(2010));
+        assertEquals(CalendarDate.from(2011, 12, 26), christmas.dateIn(2011));
+        assertEquals(CalendarDate.from(2021, 12, 31), newYear.dateIn(2022));
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.concepts.domain.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class PreciseTimePointTest {
+
+    private PreciseTimePoint point;
+
+    @Before
+    public void setUp() throws Exception {
+        this.point = PreciseTimePoint.of(1293840000L, 250);
+    }
+
+    @Test
+    public void testCreation() {
+        assertEquals(1293840000000000250L, this.point.getNanosecondsFromEpoc());
+        assertEquals(1293840000L, this.point.getEpochSecond());
+        assertEquals(250, this.point.getNanosecond());
+        assertEquals(this.point, PreciseTimePoint.fromNanoseconds(1293840000000000250L));
+    }
+
+    @Test
+    public void testBeforeTheEpoch() {
+        PreciseTimePoint beforeEpoch = PreciseTimePoint.fromNanoseconds(-1);
+
+        assertEquals(-1, beforeEpoch.getEpochSecond());
+        assertEquals(999999999, beforeEpoch.getNanosecond());
+        assertEquals(TimePoint.from(-1), beforeEpoch.asTimePoint());
+        assertEquals("-0.000000001", beforeEpoch.toString());
+    }
+
+    @Test
+    public void testToStringOfNegativeInstants() {
+        assertEquals("-0.000000001", PreciseTimePoint.fromNanoseconds(-1).toString());
+        assertEquals("-0.999999999", PreciseTimePoint.fromNanoseconds(-999999999).toString());
+        assertEquals("-1.000000000", PreciseTimePoint.fromNanoseconds(-1000000000).toString());
+        assertEquals("-1.500000000", PreciseTimePoint.of(-2, 500000000).toString());
+        assertEquals("-9223372036.854775808", PreciseTimePoint.fromNanoseconds(Long.MIN_VALUE).toString());
+        assertEquals("0.000000000", PreciseTimePoint.fromNanoseconds(0).toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidNanosecond() {
+        PreciseTimePoint.of(0, 1000000000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOutOfRange() {
+        PreciseTimePoint.of(Long.MAX_VALUE / 1000000000L + 1, 0);
+    }
+
+    @Test
+    public void testConversionToAndFromTimePoint() {
+        TimePoint timePoint = TimePoint.from(1293840000123L);
+
+        assertEquals(1293840000123000000L, PreciseTimePoint.from(timePoint).getNanosecondsFromEpoc());
+        assertEquals(timePoint, PreciseTimePoint.from(timePoint).plusNanoseconds(999999).asTimePoint());
+    }
+
+    @Test
+    public void testArithmeticWithDurations() {
+        assertEquals(1293840001000000250L, this.point.plus(Duration.seconds(1)).getNanosecondsFromEpoc());
+        assertEquals(1293839999999000250L, this.point.minus(Duration.milliseconds(1)).getNanosecondsFromEpoc());
+        assertEquals(Duration.milliseconds(2), this.point.durationUntil(this.point.plusNanoseconds(2999999)));
+        assertEquals(-5, this.point.nanosecondsUntil(this.point.plusNanoseconds(-5)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testArithmeticWithMonths() {
+        this.point.plus(Duration.months(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDurationUntilEarlierPoint() {
+        this.point.durationUntil(this.point.plusNanoseconds(-1));
+    }
+
+    @Test
+    public void testComparison() {
+        PreciseTimePoint later = this.point.plusNanoseconds(1);
+
+        assertTrue(this.point.isBefore(later));
+        assertTrue(later.isAfter(this.point));
+        assertFalse(this.point.isAfter(this.point));
+        assertTrue(this.point.compareTo(later) < 0);
+        assertEquals("1293840000.000000250", this.point.toString());
+    }
+
+}
@@ -5,6 +5,8 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -76,4 +78,65 @@ public class TimePointTest {
         assertFalse(TimePoint.from(this.jan012010).equals(TimePoint.from(this.feb012010)));
     }
 
+    @Test
+    public void testCreationInTimeZone() {
+        TimeZone newYork = TimeZone.getTimeZone("America/New_York");
+
+        assertEquals(expectedTime(newYork, 2011, 6, 15, 9, 30, 0), TimePoint.at(2011, 6, 15, 9, 30, 0, newYork));
+        assertEquals(expectedTime(newYork, 1945, 1, 1, 0, 0, 0), TimePoint.atMidnight(1945, 1, 1, newYork));
+        assertEquals(expectedTime(newYork, 1850, 1, 1, 0, 0, 0), TimePoint.atMidnight(1850, 1, 1, newYork));
+    }
+
+    @Test
+    public void testCreationAcrossDaylightSavingTransitions() {
+        for (String id : new String[] { "America/New_York", "Europe/London", "Australia/Lord_Howe", "Pacific/Apia" }) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            for (int day = 1; day <= 366; day++) {
+                for (int minute = 0; minute < 24 * 60; minute += 30) {
+                    TimePoint expected = expectedTime(zone, 2011, 1, day, minute / 60, minute % 60, 0);
+
+                    assertEquals(id + " " + day + " " + minute, expected,
+                            TimePoint.at(2011, 1, day, minute / 60, minute % 60, 0, zone));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCreationCarriesOverFields() {
+        TimeZone london = TimeZone.getTimeZone("Europe/London");
+
+        assertEquals(expectedTime(london, 2011, 3, 32, 25, -3, 70), TimePoint.at(2011, 3, 32, 25, -3, 70, london));
+        assertEquals(expectedTime(london, 2011, 13, 1, 0, 0, 0), TimePoint.atMidnight(2011, 13, 1, london));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreationWithoutTimeZone() {
+        TimePoint.atMidnight(2011, 1, 1, null);
+    }
+
+    @Test
+    public void testCreationInDefaultTimeZone() {
+        assertEquals(TimePoint.from(this.jan012010), TimePoint.atMidnight(2010, 1, 1));
+        assertEquals(TimePoint.from(this.feb012010), TimePoint.at(2010, 2, 1, 0, 0, 0));
+    }
+
+    @Test
+    public void testAsJavaCalendarInTimeZone() {
+        TimeZone tokyo = TimeZone.getTimeZone("Asia/Tokyo");
+        Calendar calendar = TimePoint.at(2011, 6, 15, 9, 30, 0, tokyo).asJavaCalendar(tokyo);
+
+        assertEquals(tokyo.getID(), calendar.getTimeZone().getID());
+        assertEquals(9, calendar.get(Calendar.HOUR_OF_DAY));
+        assertEquals(15, calendar.get(Calendar.DATE));
+    }
+
+    private TimePoint expectedTime(TimeZone zone, int year, int month, int day, int hour, int minute, int second) {
+        Calendar calendar = new GregorianCalendar(zone);
+        calendar.clear();
+        calendar.set(year, month - 1, day, hour, minute, second);
+
+        return TimePoint.from(calendar);
+    }
+
 }
@@ -0,0 +1,66 @@
+package com.concepts.domain.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+
+public class ZoneOffsetTableTest {
+
+    @Test
+    public void testOffsetsMatchTimeZone() {
+        TimeZone zone = TimeZone.getTimeZone("Europe/London");
+        ZoneOffsetTable table = ZoneOffsetTable.of(zone);
+
+        for (long instant = -2500000000000L; instant < 4200000000000L; instant += 3600000L * 7) {
+            assertEquals(zone.getOffset(instant), table.offsetAt(instant));
+            assertEquals(instant + zone.getOffset(instant), table.toLocal(instant));
+        }
+    }
+
+    @Test
+    public void testTablesAreCachedByZone() {
+        assertSame(ZoneOffsetTable.of(TimeZone.getTimeZone("Asia/Kolkata")),
+                ZoneOffsetTable.of(TimeZone.getTimeZone("Asia/Kolkata")));
+    }
+
+    @Test
+    public void testZonesWithSameIdButOtherRules() {
+        TimeZone custom = new SimpleTimeZone(3600000, "Asia/Kolkata");
+
+        assertEquals(3600000, ZoneOffsetTable.of(custom).offsetAt(0));
+        assertEquals(19800000, ZoneOffsetTable.of(TimeZone.getTimeZone("Asia/Kolkata")).offsetAt(0));
+    }
+
+    @Test
+    public void testAlternatingZonesWithSameIdButOtherRules() {
+        TimeZone first = new SimpleTimeZone(3600000, "Custom/Alternating");
+        TimeZone second = new SimpleTimeZone(7200000, "Custom/Alternating");
+        ZoneOffsetTable firstTable = ZoneOffsetTable.of(first);
+        ZoneOffsetTable secondTable = ZoneOffsetTable.of(second);
+
+        for (int i = 0; i < 3; i++) {
+            assertSame(firstTable, ZoneOffsetTable.of(first));
+            assertSame(secondTable, ZoneOffsetTable.of(second));
+        }
+        assertSame(firstTable, ZoneOffsetTable.of((TimeZone) first.clone()));
+        assertEquals(3600000, firstTable.offsetAt(0));
+        assertEquals(7200000, secondTable.offsetAt(0));
+    }
+
+    @Test
+    public void testCoveredLocalTimes() {
+        assertTrue(ZoneOffsetTable.covers(0));
+        assertTrue(ZoneOffsetTable.covers(EpochDays.of(1900, 1, 1) * TimeUnitConversionFactors.MILLISECONDS_PER_DAY));
+        assertFalse(ZoneOffsetTable.covers(EpochDays.of(1900, 1, 1) * TimeUnitConversionFactors.MILLISECONDS_PER_DAY
+                - 1));
+        assertFalse(ZoneOffsetTable.covers(EpochDays.of(2101, 1, 1) * TimeUnitConversionFactors.MILLISECONDS_PER_DAY));
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.concepts.domain.time.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.concepts.domain.time.Duration;
+
+
+public class CachedClockTest {
+
+    private CachedClock clock;
+
+    @Before
+    public void setUp() throws Exception {
+        this.clock = CachedClock.start(Duration.milliseconds(1));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.clock.close();
+    }
+
+    @Test
+    public void testServesSystemTime() {
+        long before = System.currentTimeMillis();
+        long cached = this.clock.millisecondsFromEpoc();
+
+        assertTrue(cached <= System.currentTimeMillis());
+        assertTrue(cached >= before - 1000);
+        assertEquals(Duration.milliseconds(1), this.clock.getResolution());
+    }
+
+    @Test
+    public void testTimeAdvances() throws InterruptedException {
+        long first = this.clock.millisecondsFromEpoc();
+        Thread.sleep(50);
+
+        assertTrue(this.clock.millisecondsFromEpoc() > first);
+        assertTrue(this.clock.now().asJavaDate().getTime() > first);
+    }
+
+    @Test
+    public void testStopsTickingWhenClosed() throws InterruptedException {
+        this.clock.close();
+        Thread.sleep(20);
+        long last = this.clock.millisecondsFromEpoc();
+        Thread.sleep(20);
+
+        assertEquals(last, this.clock.millisecondsFromEpoc());
+        assertEquals(last, this.clock.now().asJavaDate().getTime());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testResolutionBelowOneMillisecond() {
+        CachedClock.start(Duration.milliseconds(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testResolutionInMonths() {
+        CachedClock.start(Duration.months(1));
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.concepts.domain.time.support;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.concepts.domain.time.PreciseTimePoint;
+
+
+public class MonotonicClockTest {
+
+    @Test
+    public void testTimeNeverGoesBackwards() {
+        MonotonicClock clock = MonotonicClock.timeSource();
+
+        PreciseTimePoint previous = clock.preciseNow();
+        for (int i = 0; i < 10000; i++) {
+            PreciseTimePoint next = clock.preciseNow();
+
+            assertFalse(next.isBefore(previous));
+            previous = next;
+        }
+    }
+
+    @Test
+    public void testAnchoredToSystemClock() {
+        long before = System.currentTimeMillis();
+        MonotonicClock clock = MonotonicClock.timeSource();
+        long now = clock.now().asJavaDate().getTime();
+
+        assertTrue(now >= before);
+        assertTrue(now <= System.currentTimeMillis() + 1);
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.concepts.domain.time.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.concepts.domain.time.Duration;
+import com.concepts.domain.time.TimePoint;
+
+
+public class VirtualClockTest {
+
+    private TimePoint start;
+
+    @Before
+    public void setUp() throws Exception {
+        this.start = TimePoint.from(1293840000000L);
+    }
+
+    @Test
+    public void testFrozenClock() throws InterruptedException {
+        VirtualClock clock = VirtualClock.frozenAt(this.start);
+        Thread.sleep(5);
+
+        assertTrue(clock.isFrozen());
+        assertEquals(this.start, clock.now());
+    }
+
+    @Test
+    public void testSteppingClock() {
+        VirtualClock clock = VirtualClock.frozenAt(this.start);
+        clock.advance(Duration.hours(1));
+
+        assertEquals(TimePoint.from(1293843600000L), clock.now());
+
+        clock.advanceTo(TimePoint.from(1293850000000L));
+
+        assertEquals(1293850000000L, clock.millisecondsFromEpoc());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMovingClockBack() {
+        VirtualClock.frozenAt(this.start).advanceTo(TimePoint.from(1293839999999L));
+    }
+
+    @Test
+    public void testAcceleratedClock() throws InterruptedException {
+        VirtualClock clock = VirtualClock.runningAt(this.start, 3600000);
+        Thread.sleep(10);
+        clock.freeze();
+
+        long elapsed = clock.millisecondsFromEpoc() - 1293840000000L;
+        assertTrue(elapsed >= 10 * 3600000L);
+        assertTrue(clock.isFrozen());
+
+        clock.run(1);
+
+        assertFalse(clock.isFrozen());
+        assertEquals(1, clock.getRate(), 0);
+        assertTrue(clock.millisecondsFromEpoc() >= 1293840000000L + elapsed);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidRate() {
+        VirtualClock.runningAt(this.start, 0);
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.concepts.domain.time.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.concepts.domain.time.Duration;
+import com.concepts.domain.time.TimePoint;
+
+
+public class VirtualSchedulerTest {
+
+    private VirtualClock clock;
+    private VirtualScheduler scheduler;
+    private List<String> fired;
+
+    @Before
+    public void setUp() throws Exception {
+        this.clock = VirtualClock.frozenAt(TimePoint.from(0));
+        this.scheduler = VirtualScheduler.boundTo(this.clock);
+        this.fired = new ArrayList<String>();
+    }
+
+    private Runnable record(final String name) {
+        final VirtualClock recordingClock = this.clock;
+        final List<String> recorded = this.fired;
+
+        return new Runnable() {
+
+            public void run() {
+                recorded.add(name + "@" + recordingClock.millisecondsFromEpoc());
+            }
+        };
+    }
+
+    @Test
+    public void testFiresInDeadlineOrder() {
+        this.scheduler.schedule(TimePoint.from(300), record("c"));
+        this.scheduler.schedule(TimePoint.from(100), record("a"));
+        this.scheduler.schedule(TimePoint.from(200), record("b"));
+        this.scheduler.schedule(TimePoint.from(200), record("b2"));
+
+        assertEquals(TimePoint.from(100), this.scheduler.nextDeadline());
+        assertEquals(3, this.scheduler.advanceTo(TimePoint.from(250)));
+        assertEquals("[a@100, b@200, b2@200]", this.fired.toString());
+        assertEquals(250, this.clock.millisecondsFromEpoc());
+        assertEquals(1, this.scheduler.size());
+    }
+
+    @Test
+    public void testCallbacksScheduleFurtherCallbacks() {
+        this.scheduler.scheduleAfter(Duration.seconds(1), new Runnable() {
+
+            public void run() {
+                VirtualSchedulerTest.this.fired.add("tick@" + VirtualSchedulerTest.this.clock.millisecondsFromEpoc());
+                if (VirtualSchedulerTest.this.fired.size() < 3) {
+                    VirtualSchedulerTest.this.scheduler.scheduleAfter(Duration.seconds(1), this);
+                }
+            }
+        });
+
+        assertEquals(3, this.scheduler.runUntilIdle());
+        assertEquals("[tick@1000, tick@2000, tick@3000]", this.fired.toString());
+        assertNull(this.scheduler.nextDeadline());
+    }
+
+    @Test
+    public void testSimulatesAMonthOfDailyCallbacks() {
+        for (int day = 1; day <= 30; day++) {
+            this.scheduler.schedule(TimePoint.from(day * 86400000L), record("day" + day));
+        }
+
+        assertEquals(30, this.scheduler.advance(Duration.days(30)));
+        assertEquals("day30@2592000000", this.fired.get(29));
+    }
+
+    @Test
+    public void testCancel() {
+        VirtualScheduler.Task task = this.scheduler.schedule(TimePoint.from(100), record("a"));
+
+        assertTrue(task.cancel());
+        assertFalse(task.cancel());
+        assertEquals(0, this.scheduler.advance(Duration.seconds(1)));
+        assertTrue(this.fired.isEmpty());
+    }
+
+    @Test
+    public void testFirePendingDoesNotMoveTheClock() {
+        this.scheduler.schedule(TimePoint.from(0), record("now"));
+        this.scheduler.schedule(TimePoint.from(10), record("later"));
+
+        assertEquals(1, this.scheduler.firePending());
+        assertEquals("[now@0]", this.fired.toString());
+        assertEquals(0, this.clock.millisecondsFromEpoc());
+    }
+
+    @Test
+    public void testFirePendingWithRunningClock() throws InterruptedException {
+        VirtualClock running = VirtualClock.runningAt(TimePoint.from(0), 1000);
+        VirtualScheduler runningScheduler = VirtualScheduler.boundTo(running);
+        runningScheduler.schedule(TimePoint.from(1000), record("a"));
+        Thread.sleep(5);
+
+        assertEquals(1, runningScheduler.firePending());
+    }
+
+}